@@ -0,0 +1,73 @@
+package com.akademix.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a feed page with the same ObjectMapper setup Spring Boot
+ * uses for responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<PublicationDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<PublicationDTO> content = new ArrayList<>(pageSize);
+        String excerpt = "Notes on the analytical engine. ".repeat(7);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(PublicationDTO.builder()
+                    .id((long) i)
+                    .title("Publication " + i)
+                    .content(excerpt)
+                    .authorId(7L)
+                    .authorName("Ada Lovelace")
+                    .createdAt(LocalDateTime.of(2024, 3, 1, 12, 0).minusMinutes(i))
+                    .likesCount(i * 3)
+                    .commentsCount(i)
+                    .build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,61 @@
+package com.akademix.security;
+
+import com.akademix.config.JwtConfig;
+import com.akademix.model.Role;
+import com.akademix.model.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private static final String PASSWORD = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3jWj1Ukmz7e5i4hTq1n1bM2";
+
+    private User user;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(7L);
+        user.setEmail("ada@example.org");
+        user.setName("Ada Lovelace");
+        user.setRoles(Set.of(new Role(1, Role.ERole.ROLE_USER)));
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        JwtUtils jwtUtils = new JwtUtils(jwtConfig);
+        jwtUtils.init();
+        UserDetailsImpl principal = UserDetailsImpl.build(user, PASSWORD);
+        claims = jwtUtils.parseClaims(jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromUser() {
+        return UserDetailsImpl.build(user, PASSWORD);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildFromClaims() {
+        return UserDetailsImpl.build(claims);
+    }
+}
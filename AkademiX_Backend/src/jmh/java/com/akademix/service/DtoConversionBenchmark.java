@@ -0,0 +1,155 @@
+package com.akademix.service;
+
+import com.akademix.config.CounterConfig;
+import com.akademix.dto.CommentDTO;
+import com.akademix.dto.PublicationDTO;
+import com.akademix.model.Comment;
+import com.akademix.model.Publication;
+import com.akademix.model.User;
+import com.akademix.repository.projection.CommentSummary;
+import com.akademix.repository.projection.PublicationSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    private PublicationService publicationService;
+    private CommentService commentService;
+    private Publication publication;
+    private PublicationSummary publicationSummary;
+    private Comment comment;
+    private CommentSummary commentSummary;
+
+    @Setup
+    public void setUp() {
+        EngagementCounterService counterService = new EngagementCounterService(null, null, new CounterConfig(), null, null, null, null);
+        counterService.adjustPublicationLikes(1L, 3);
+        counterService.adjustCommentLikes(1L, 2);
+        publicationService = new PublicationService(null, null, counterService, null, null, null, null);
+        commentService = new CommentService(null, null, null, counterService, null);
+
+        User author = new User();
+        author.setId(7L);
+        author.setName("Ada Lovelace");
+
+        String content = "Notes on the analytical engine. ".repeat(40);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+        publication = new Publication();
+        publication.setId(1L);
+        publication.setTitle("Sketch of the Analytical Engine");
+        publication.setContent(content);
+        publication.setAuthor(author);
+        publication.setCreatedAt(createdAt);
+        publicationSummary = new PublicationSummaryRow(1L, "Sketch of the Analytical Engine",
+                content.substring(0, 200), 7L, "Ada Lovelace", createdAt, 12, 4);
+
+        comment = new Comment();
+        comment.setId(1L);
+        comment.setContent("Remarkable translation and notes.");
+        comment.setAuthor(author);
+        comment.setPublication(publication);
+        comment.setCreatedAt(createdAt);
+        commentSummary = new CommentSummaryRow(1L, "Remarkable translation and notes.", 7L, "Ada Lovelace",
+                1L, createdAt, 5);
+    }
+
+    @Benchmark
+    public PublicationDTO publicationFromEntity() {
+        return publicationService.convertToDTO(publication);
+    }
+
+    @Benchmark
+    public PublicationDTO publicationFromSummary() {
+        return publicationService.convertToDTO(publicationSummary);
+    }
+
+    @Benchmark
+    public CommentDTO commentFromEntity() {
+        return commentService.convertToDTO(comment);
+    }
+
+    @Benchmark
+    public CommentDTO commentFromSummary() {
+        return commentService.convertToDTO(commentSummary);
+    }
+
+    private static final class PublicationSummaryRow implements PublicationSummary {
+        private final Long id;
+        private final String title;
+        private final String excerpt;
+        private final Long authorId;
+        private final String authorName;
+        private final LocalDateTime createdAt;
+        private final Integer likesCount;
+        private final Integer commentsCount;
+
+        private PublicationSummaryRow(Long id, String title, String excerpt, Long authorId, String authorName,
+                                      LocalDateTime createdAt, Integer likesCount, Integer commentsCount) {
+            this.id = id;
+            this.title = title;
+            this.excerpt = excerpt;
+            this.authorId = authorId;
+            this.authorName = authorName;
+            this.createdAt = createdAt;
+            this.likesCount = likesCount;
+            this.commentsCount = commentsCount;
+        }
+
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public String getExcerpt() { return excerpt; }
+        public Long getAuthorId() { return authorId; }
+        public String getAuthorName() { return authorName; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public Integer getLikesCount() { return likesCount; }
+        public Integer getCommentsCount() { return commentsCount; }
+    }
+
+    private static final class CommentSummaryRow implements CommentSummary {
+        private final Long id;
+        private final String content;
+        private final Long authorId;
+        private final String authorName;
+        private final Long publicationId;
+        private final LocalDateTime createdAt;
+        private final Integer likesCount;
+
+        private CommentSummaryRow(Long id, String content, Long authorId, String authorName, Long publicationId,
+                                  LocalDateTime createdAt, Integer likesCount) {
+            this.id = id;
+            this.content = content;
+            this.authorId = authorId;
+            this.authorName = authorName;
+            this.publicationId = publicationId;
+            this.createdAt = createdAt;
+            this.likesCount = likesCount;
+        }
+
+        public Long getId() { return id; }
+        public String getContent() { return content; }
+        public Long getAuthorId() { return authorId; }
+        public String getAuthorName() { return authorName; }
+        public Long getPublicationId() { return publicationId; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getUpdatedAt() { return null; }
+        public Integer getLikesCount() { return likesCount; }
+    }
+}
@@ -0,0 +1,152 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Yük testi modu (loadtest profili) ayarları.
+ * application-loadtest.properties dosyasındaki app.loadtest.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.loadtest.seed=42
+ * app.loadtest.users=100000
+ * app.loadtest.publications=1000000
+ * app.loadtest.driver-enabled=true
+ * app.loadtest.mix.feed=20
+ */
+@Data
+@ConfigurationProperties(prefix = "app.loadtest")
+public class LoadTestConfig {
+
+    /**
+     * Sentetik veri ve yük senaryoları için rastgele sayı üretecinin tohumu.
+     * Aynı tohum her çalıştırmada aynı veri setini üretir.
+     */
+    private long seed = 42L;
+
+    /**
+     * Başlangıçta veritabanı boşsa sentetik verinin yüklenip yüklenmeyeceği.
+     */
+    private boolean seedEnabled = true;
+
+    /**
+     * Üretilecek kullanıcı sayısı.
+     */
+    private int users = 100000;
+
+    /**
+     * Üretilecek yayın sayısı.
+     */
+    private int publications = 1000000;
+
+    /**
+     * Kullanıcı başına ortalama takip edilen kişi sayısı.
+     */
+    private double followingPerUser = 20.0;
+
+    /**
+     * Yayın başına ortalama yorum sayısı.
+     */
+    private double commentsPerPublication = 1.0;
+
+    /**
+     * Aynı yayındaki daha önceki bir yoruma yanıt olarak üretilen yorumların oranı.
+     */
+    private double replyRatio = 0.4;
+
+    /**
+     * Yayın başına ortalama beğeni sayısı.
+     */
+    private double likesPerPublication = 3.0;
+
+    /**
+     * Yorum başına ortalama beğeni sayısı.
+     */
+    private double likesPerComment = 0.5;
+
+    /**
+     * Popülerlik dağılımının Zipf üssü; büyüdükçe etkileşim az sayıda kullanıcı ve yayında toplanır.
+     */
+    private double skew = 1.0;
+
+    /**
+     * Yayın tarihlerinin yayıldığı geçmiş süre.
+     */
+    private Duration history = Duration.ofDays(365);
+
+    /**
+     * Üretilen yayın içeriklerinin kelime sayısı.
+     */
+    private int contentWords = 80;
+
+    /**
+     * Veri yüklerken tek bir JDBC batch içinde gönderilen satır sayısı.
+     */
+    private int batchSize = 5000;
+
+    /**
+     * Uygulama hazır olduğunda yük sürücüsünün çalıştırılıp çalıştırılmayacağı.
+     */
+    private boolean driverEnabled = false;
+
+    /**
+     * Aynı anda istek gönderen sanal kullanıcı sayısı (kapalı döngü).
+     */
+    private int concurrency = 32;
+
+    /**
+     * Ölçüme başlamadan önceki ısınma süresi.
+     */
+    private Duration warmup = Duration.ofSeconds(30);
+
+    /**
+     * Ölçüm süresi.
+     */
+    private Duration duration = Duration.ofMinutes(2);
+
+    /**
+     * Bir sanal kullanıcının iki istek arasında beklediği süre.
+     */
+    private Duration thinkTime = Duration.ZERO;
+
+    /**
+     * Sürücünün adına istek gönderdiği farklı kullanıcı sayısı.
+     */
+    private int activeUsers = 1000;
+
+    /**
+     * Senaryoların ağırlıkları (senaryo adı -> ağırlık).
+     */
+    private Map<String, Integer> mix = defaultMix();
+
+    /**
+     * Sonuç raporunun yazılacağı JSON dosyası.
+     */
+    private String reportFile = "target/loadtest-report.json";
+
+    /**
+     * Yük testi bittiğinde uygulamanın kapatılıp kapatılmayacağı.
+     */
+    private boolean exitWhenDone = false;
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("feed", 20);
+        mix.put("home-timeline", 20);
+        mix.put("publication", 15);
+        mix.put("comments", 10);
+        mix.put("profile", 10);
+        mix.put("search", 8);
+        mix.put("trending", 5);
+        mix.put("like", 5);
+        mix.put("comment", 3);
+        mix.put("publish", 2);
+        mix.put("follow", 2);
+        mix.put("login", 0);
+        return mix;
+    }
+}
@@ -0,0 +1,346 @@
+package com.akademix.loadtest;
+
+import com.akademix.config.LoadTestConfig;
+import com.akademix.model.Comment;
+import com.akademix.model.Publication;
+import com.akademix.model.Role;
+import com.akademix.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with a synthetic, seeded social graph for load tests.
+ * <p>
+ * Popularity follows a Zipf distribution: a few users gather most followers and
+ * publications, and a few publications gather most likes and comments. The same
+ * seed and sizes always produce the same rows. Rows are written with JDBC batches
+ * in foreign key order, and the denormalized counters are written consistent
+ * with the generated rows.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class DatasetGenerator implements CommandLineRunner {
+
+    public static final String PASSWORD = "loadtest";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, email, name, title, institution, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CREDENTIALS_SQL = "INSERT INTO user_credentials (user_id, password) VALUES (?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_FOLLOW_SQL = "INSERT INTO user_followers (user_id, follower_id) VALUES (?, ?)";
+    private static final String INSERT_PUBLICATION_SQL =
+            "INSERT INTO publications (id, title, content, excerpt, author_id, likes_count, comments_count, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COMMENT_SQL =
+            "INSERT INTO comments (id, content, author_id, publication_id, parent_id, root_id, path, depth, likes_count, "
+                    + "replies_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PUBLICATION_LIKE_SQL =
+            "INSERT INTO publication_likes (publication_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_COMMENT_LIKE_SQL = "INSERT INTO comment_likes (comment_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_USER_STATS_SQL =
+            "INSERT INTO user_stats (user_id, publications_count, followers_count, following_count) VALUES (?, ?, ?, ?)";
+    // Pooled sequence: Hibernate hands out the allocation block below the value it reads
+    private static final int PUBLICATION_ID_ALLOCATION = 50;
+
+    private static final String[] TITLES = {"Prof. Dr.", "Doç. Dr.", "Dr. Öğr. Üyesi", "Araş. Gör.", "Dr."};
+    private static final String[] INSTITUTIONS = {
+            "Ankara Üniversitesi", "Boğaziçi Üniversitesi", "ODTÜ", "İTÜ", "Hacettepe Üniversitesi",
+            "Ege Üniversitesi", "Bilkent Üniversitesi", "Sabancı Üniversitesi", "Koç Üniversitesi", "TÜBİTAK"
+    };
+
+    private final LoadTestConfig loadTestConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public static String email(long userId) {
+        return "user" + userId + "@loadtest.akademix.org";
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!loadTestConfig.isSeedEnabled()) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Load test seeding skipped, database already has {} users", existing);
+            return;
+        }
+        long started = System.nanoTime();
+        int users = loadTestConfig.getUsers();
+        int publications = loadTestConfig.getPublications();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        SplittableRandom root = new SplittableRandom(loadTestConfig.getSeed());
+        ZipfSampler popularUsers = new ZipfSampler(users, loadTestConfig.getSkew(), true);
+        ZipfSampler popularPublications = new ZipfSampler(publications, loadTestConfig.getSkew(), true);
+
+        int[] followers = new int[users + 1];
+        int[] following = new int[users + 1];
+        int[] publicationCounts = new int[users + 1];
+
+        insertUsers(root.split(), users, now);
+        insertFollows(root.split(), popularUsers, users, followers, following);
+
+        // Draw every interaction first so the counter columns can be written with their rows
+        SplittableRandom random = root.split();
+        int[] authors = new int[publications + 1];
+        long[] publishedAt = new long[publications + 1];
+        long historyMicros = Math.max(1, ChronoUnit.MICROS.between(now.minus(loadTestConfig.getHistory()), now));
+        for (int id = 1; id <= publications; id++) {
+            authors[id] = popularUsers.sample(random);
+            publishedAt[id] = random.nextLong(historyMicros);
+            publicationCounts[authors[id]]++;
+        }
+        int comments = (int) Math.round(publications * loadTestConfig.getCommentsPerPublication());
+        int[] commentedPublications = new int[comments];
+        int[] commentCounts = new int[publications + 1];
+        for (int i = 0; i < comments; i++) {
+            commentedPublications[i] = popularPublications.sample(random);
+        }
+        // Comments of one publication get consecutive ids
+        Arrays.sort(commentedPublications);
+        for (int publicationId : commentedPublications) {
+            commentCounts[publicationId]++;
+        }
+        long[] publicationLikes = samplePairs(random, popularPublications,
+                Math.round(publications * loadTestConfig.getLikesPerPublication()), popularUsers, users);
+        int[] likeCounts = countFirst(publicationLikes, users, publications);
+        ZipfSampler popularComments = comments > 0
+                ? new ZipfSampler(comments, loadTestConfig.getSkew(), true) : null;
+        long[] commentLikes = popularComments == null ? new long[0] : samplePairs(random, popularComments,
+                Math.round(comments * loadTestConfig.getLikesPerComment()), popularUsers, users);
+        int[] commentLikeCounts = countFirst(commentLikes, users, comments);
+
+        insertPublications(root.split(), publications, authors, publishedAt, likeCounts, commentCounts, now);
+        insertComments(root.split(), popularUsers, commentedPublications, publishedAt, commentLikeCounts, now);
+        insertPairs(INSERT_PUBLICATION_LIKE_SQL, publicationLikes, users);
+        insertPairs(INSERT_COMMENT_LIKE_SQL, commentLikes, users);
+        insertUserStats(users, publicationCounts, followers, following);
+        restartIdentities(users, publications, comments);
+
+        log.info("Load test dataset seeded in {} s: {} users, {} follows, {} publications, {} comments, "
+                        + "{} publication likes, {} comment likes",
+                (System.nanoTime() - started) / 1_000_000_000L, users, Arrays.stream(following).asLongStream().sum(),
+                publications, comments, publicationLikes.length, commentLikes.length);
+    }
+
+    private void insertUsers(SplittableRandom random, int users, LocalDateTime now) {
+        Integer roleId = ensureRoles();
+        // Hashing once keeps seeding fast; every generated user logs in with the same password
+        String password = passwordEncoder.encode(PASSWORD);
+        try (Batch userBatch = new Batch(INSERT_USER_SQL);
+             Batch credentialsBatch = new Batch(INSERT_CREDENTIALS_SQL);
+             Batch roleBatch = new Batch(INSERT_USER_ROLE_SQL)) {
+            for (long id = 1; id <= users; id++) {
+                userBatch.add(id, email(id), TextGenerator.name(random),
+                        TITLES[random.nextInt(TITLES.length)], INSTITUTIONS[random.nextInt(INSTITUTIONS.length)],
+                        now.minusDays(random.nextInt(3650)));
+                credentialsBatch.add(id, password);
+                roleBatch.add(id, roleId);
+            }
+            userBatch.flush();
+        }
+    }
+
+    private Integer ensureRoles() {
+        if (roleRepository.count() == 0) {
+            for (Role.ERole name : Role.ERole.values()) {
+                roleRepository.save(new Role(null, name));
+            }
+        }
+        return roleRepository.findByName(Role.ERole.ROLE_USER)
+                .orElseThrow(() -> new IllegalStateException("ROLE_USER is missing"))
+                .getId();
+    }
+
+    private void insertFollows(SplittableRandom random, ZipfSampler popularUsers, int users,
+                               int[] followers, int[] following) {
+        double mean = loadTestConfig.getFollowingPerUser();
+        try (Batch batch = new Batch(INSERT_FOLLOW_SQL)) {
+            long[] followees = new long[16];
+            for (int followerId = 1; followerId <= users; followerId++) {
+                // Exponentially distributed out-degree, capped so small datasets stay valid
+                int count = (int) Math.min(users - 1L, Math.round(-mean * Math.log(1 - random.nextDouble())));
+                if (followees.length < count) {
+                    followees = new long[count];
+                }
+                int size = 0;
+                for (int attempt = 0; size < count && attempt < count * 4; attempt++) {
+                    int followee = popularUsers.sample(random);
+                    if (followee != followerId) {
+                        followees[size++] = followee;
+                    }
+                }
+                Arrays.sort(followees, 0, size);
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    long followee = followees[i];
+                    if (followee != previous) {
+                        batch.add(followee, followerId);
+                        followers[(int) followee]++;
+                        following[followerId]++;
+                        previous = followee;
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertPublications(SplittableRandom random, int publications, int[] authors, long[] publishedAt,
+                                    int[] likeCounts, int[] commentCounts, LocalDateTime now) {
+        int words = loadTestConfig.getContentWords();
+        try (Batch batch = new Batch(INSERT_PUBLICATION_SQL)) {
+            for (int id = 1; id <= publications; id++) {
+                String content = TextGenerator.text(random, words);
+                batch.add((long) id, TextGenerator.title(random), content, Publication.excerptOf(content),
+                        (long) authors[id], likeCounts[id], commentCounts[id],
+                        now.minus(publishedAt[id], ChronoUnit.MICROS));
+            }
+        }
+    }
+
+    private void insertComments(SplittableRandom random, ZipfSampler popularUsers, int[] commentedPublications,
+                                long[] publishedAt, int[] likeCounts, LocalDateTime now) {
+        int comments = commentedPublications.length;
+        int[] parents = new int[comments + 1];
+        int[] depths = new int[comments + 1];
+        int[] roots = new int[comments + 1];
+        int[] replyCounts = new int[comments + 1];
+        long[] ages = new long[comments + 1];
+        int threadStart = 1;
+        for (int id = 1; id <= comments; id++) {
+            int publicationId = commentedPublications[id - 1];
+            if (id > 1 && publicationId != commentedPublications[id - 2]) {
+                threadStart = id;
+            }
+            // Replies point at an earlier comment of the same publication, so parents are always inserted first
+            int parent = id > threadStart && random.nextDouble() < loadTestConfig.getReplyRatio()
+                    ? threadStart + random.nextInt(id - threadStart) : 0;
+            if (parent != 0 && depths[parent] < Comment.MAX_DEPTH) {
+                parents[id] = parent;
+                depths[id] = depths[parent] + 1;
+                roots[id] = roots[parent] != 0 ? roots[parent] : parent;
+                replyCounts[roots[id]]++;
+                ages[id] = ages[parent] == 0 ? 0 : random.nextLong(ages[parent]);
+            } else {
+                long age = publishedAt[publicationId];
+                ages[id] = age == 0 ? 0 : random.nextLong(age);
+            }
+        }
+
+        int words = Math.max(5, loadTestConfig.getContentWords() / 4);
+        try (Batch batch = new Batch(INSERT_COMMENT_SQL)) {
+            for (int id = 1; id <= comments; id++) {
+                boolean reply = parents[id] != 0;
+                batch.add((long) id, TextGenerator.text(random, 1 + random.nextInt(words)),
+                        (long) popularUsers.sample(random), (long) commentedPublications[id - 1],
+                        reply ? (long) parents[id] : null, reply ? (long) roots[id] : null,
+                        reply ? path(id, parents) : null, depths[id], likeCounts[id], replyCounts[id],
+                        now.minus(ages[id], ChronoUnit.MICROS));
+            }
+        }
+    }
+
+    private static String path(int id, int[] parents) {
+        StringBuilder path = new StringBuilder(Comment.pathSegment(id));
+        for (int ancestor = parents[id]; ancestor != 0; ancestor = parents[ancestor]) {
+            path.insert(0, Comment.pathSegment(ancestor));
+        }
+        return path.toString();
+    }
+
+    private void insertPairs(String sql, long[] pairs, int users) {
+        try (Batch batch = new Batch(sql)) {
+            for (long pair : pairs) {
+                batch.add(pair / (users + 1), pair % (users + 1));
+            }
+        }
+    }
+
+    private void insertUserStats(int users, int[] publicationCounts, int[] followers, int[] following) {
+        try (Batch batch = new Batch(INSERT_USER_STATS_SQL)) {
+            for (int id = 1; id <= users; id++) {
+                batch.add((long) id, publicationCounts[id], followers[id], following[id]);
+            }
+        }
+    }
+
+    private void restartIdentities(int users, int publications, int comments) {
+        jdbcTemplate.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (users + 1));
+        jdbcTemplate.execute("ALTER TABLE comments ALTER COLUMN id RESTART WITH " + (comments + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE publications_seq RESTART WITH "
+                + (publications + PUBLICATION_ID_ALLOCATION + 1));
+    }
+
+    /**
+     * Draws (target, user) pairs encoded as {@code target * (users + 1) + user},
+     * sorted and without duplicates.
+     */
+    private static long[] samplePairs(SplittableRandom random, ZipfSampler targets, long count,
+                                      ZipfSampler popularUsers, int users) {
+        long[] pairs = new long[Math.toIntExact(count)];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = (long) targets.sample(random) * (users + 1) + popularUsers.sample(random);
+        }
+        Arrays.sort(pairs);
+        int size = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (size == 0 || pairs[size - 1] != pairs[i]) {
+                pairs[size++] = pairs[i];
+            }
+        }
+        return Arrays.copyOf(pairs, size);
+    }
+
+    private static int[] countFirst(long[] pairs, int users, int targets) {
+        int[] counts = new int[targets + 1];
+        for (long pair : pairs) {
+            counts[(int) (pair / (users + 1))]++;
+        }
+        return counts;
+    }
+
+    private final class Batch implements AutoCloseable {
+        private final String sql;
+        private final List<Object[]> rows;
+
+        private Batch(String sql) {
+            this.sql = sql;
+            this.rows = new ArrayList<>(loadTestConfig.getBatchSize());
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= loadTestConfig.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
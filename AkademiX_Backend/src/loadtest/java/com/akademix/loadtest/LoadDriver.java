@@ -0,0 +1,385 @@
+package com.akademix.loadtest;
+
+import com.akademix.config.LoadTestConfig;
+import com.akademix.security.JwtUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver. Once the application accepts traffic, a fixed
+ * number of virtual users send requests back to back against the local server,
+ * picking scenarios by the weights in {@code app.loadtest.mix}. Latencies are
+ * recorded per scenario in HdrHistograms, which are reset after the warmup, and
+ * the percentiles are logged and written to {@code app.loadtest.report-file}.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadDriver {
+
+    private static final int PAGE_SIZE = 10;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestConfig loadTestConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDetailsService userDetailsService;
+    private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final ApplicationContext applicationContext;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                && loadTestConfig.isDriverEnabled()
+                && started.compareAndSet(false, true)) {
+            Thread driver = new Thread(this::runSafely, "loadtest-driver");
+            driver.setDaemon(true);
+            driver.start();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+        }
+        if (loadTestConfig.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void run() throws Exception {
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        Long maxPublicationId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM publications", Long.class);
+        if (maxUserId == null || maxPublicationId == null) {
+            log.warn("Load test skipped, there are no users or publications to work with");
+            return;
+        }
+        SplittableRandom root = new SplittableRandom(loadTestConfig.getSeed());
+        Target target = new Target(
+                "http://localhost:" + environment.getRequiredProperty("local.server.port"),
+                sessions(root.split(), maxUserId),
+                new ZipfSampler(Math.toIntExact(maxUserId), loadTestConfig.getSkew(), true),
+                new ZipfSampler(Math.toIntExact(maxPublicationId), loadTestConfig.getSkew(), true));
+        if (target.sessions.isEmpty()) {
+            log.warn("Load test skipped, no user could be signed in");
+            return;
+        }
+        Mix mix = new Mix(loadTestConfig.getMix());
+
+        Map<LoadScenario, Recorder> recorders = new EnumMap<>(LoadScenario.class);
+        Map<LoadScenario, LongAdder> errors = new EnumMap<>(LoadScenario.class);
+        for (LoadScenario scenario : LoadScenario.values()) {
+            recorders.put(scenario, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(scenario, new LongAdder());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        int concurrency = loadTestConfig.getConcurrency();
+        long deadline = System.nanoTime() + loadTestConfig.getWarmup().toNanos() + loadTestConfig.getDuration().toNanos();
+        log.info("Load test started: {} virtual users, {} warmup, {} measured",
+                concurrency, loadTestConfig.getWarmup(), loadTestConfig.getDuration());
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = root.split();
+            workers.execute(() -> drive(client, target, mix, random, deadline, recorders, errors));
+        }
+        Thread.sleep(loadTestConfig.getWarmup().toMillis());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        long measureStarted = System.nanoTime();
+        workers.shutdown();
+        if (!workers.awaitTermination(loadTestConfig.getDuration().toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - measureStarted) / 1e9;
+
+        report(recorders, errors, seconds);
+    }
+
+    private void drive(HttpClient client, Target target, Mix mix, SplittableRandom random, long deadline,
+                       Map<LoadScenario, Recorder> recorders, Map<LoadScenario, LongAdder> errors) {
+        long thinkTime = loadTestConfig.getThinkTime().toMillis();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            LoadScenario scenario = mix.pick(random);
+            Session session = target.sessions.get(random.nextInt(target.sessions.size()));
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request(scenario, target, session, random),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.get(scenario).increment();
+                }
+            } catch (IOException e) {
+                errors.get(scenario).increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorders.get(scenario).recordValue(
+                    Math.min(HIGHEST_TRACKABLE_MICROS, (System.nanoTime() - started) / 1000));
+            if (thinkTime > 0) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private HttpRequest request(LoadScenario scenario, Target target, Session session, SplittableRandom random) {
+        int publicationId = target.publications.sample(random);
+        int userId = target.users.sample(random);
+        switch (scenario) {
+            case FEED:
+                return get(target, session, "/api/publications/cursor?size=" + PAGE_SIZE);
+            case HOME_TIMELINE:
+                return get(target, session, "/api/feed/home?size=" + PAGE_SIZE);
+            case PUBLICATION:
+                return get(target, session, "/api/publications/" + publicationId);
+            case COMMENTS:
+                return get(target, session, "/api/comments/publication/" + publicationId + "/cursor?size=" + PAGE_SIZE);
+            case PROFILE:
+                return get(target, session, "/api/users/" + userId);
+            case SEARCH:
+                return get(target, session, "/api/publications/search?size=" + PAGE_SIZE
+                        + "&keyword=" + TextGenerator.word(random));
+            case TRENDING:
+                return get(target, session, "/api/publications/trending?size=" + PAGE_SIZE);
+            case LIKE:
+                return post(target, session, "/api/publications/" + publicationId + "/like", null);
+            case COMMENT:
+                return post(target, session, "/api/comments/publication/" + publicationId,
+                        Map.of("content", TextGenerator.text(random, 5 + random.nextInt(20))));
+            case PUBLISH:
+                return post(target, session, "/api/publications", Map.of(
+                        "title", TextGenerator.title(random),
+                        "content", TextGenerator.text(random, loadTestConfig.getContentWords())));
+            case FOLLOW:
+                return post(target, session, "/api/users/" + (userId == session.userId ? userId % target.users.size() + 1 : userId)
+                        + "/follow", null);
+            case LOGIN:
+                return post(target, null, "/api/auth/login",
+                        Map.of("email", session.email, "password", DatasetGenerator.PASSWORD));
+            default:
+                throw new IllegalStateException("Unhandled scenario " + scenario);
+        }
+    }
+
+    private HttpRequest get(Target target, Session session, String path) {
+        return HttpRequest.newBuilder(URI.create(target.baseUrl + path))
+                .header("Authorization", "Bearer " + session.token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(Target target, Session session, String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target.baseUrl + path));
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token);
+        }
+        if (body == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Signs in a random sample of users by minting their tokens directly, so the
+     * login scenario is the only one that pays for password hashing.
+     */
+    private List<Session> sessions(SplittableRandom random, long maxUserId) {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < loadTestConfig.getActiveUsers(); i++) {
+            long userId = 1 + random.nextLong(maxUserId);
+            List<String> emails = jdbcTemplate.queryForList("SELECT email FROM users WHERE id = ?", String.class, userId);
+            if (emails.isEmpty()) {
+                continue;
+            }
+            UserDetails user = userDetailsService.loadUserByUsername(emails.get(0));
+            String token = jwtUtils.generateJwtToken(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+            sessions.add(new Session(userId, emails.get(0), token));
+        }
+        return sessions;
+    }
+
+    private void report(Map<LoadScenario, Recorder> recorders, Map<LoadScenario, LongAdder> errors,
+                        double seconds) throws IOException {
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        StringBuilder table = new StringBuilder(String.format("%n%-14s %9s %8s %9s %9s %9s %9s %9s %9s",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LoadScenario scenario : LoadScenario.values()) {
+            Histogram histogram = recorders.get(scenario).getIntervalHistogram();
+            long errorCount = errors.get(scenario).sum();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errorCount;
+            scenarios.put(scenario.getKey(), summary(histogram, errorCount, seconds));
+            table.append(row(scenario.getKey(), histogram, errorCount, seconds));
+        }
+        table.append(row("total", total, totalErrors, seconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("seed", loadTestConfig.getSeed());
+        report.put("concurrency", loadTestConfig.getConcurrency());
+        report.put("warmupSeconds", loadTestConfig.getWarmup().toSeconds());
+        report.put("durationSeconds", seconds);
+        report.put("mix", loadTestConfig.getMix());
+        report.put("total", summary(total, totalErrors, seconds));
+        report.put("scenarios", scenarios);
+
+        File reportFile = new File(loadTestConfig.getReportFile());
+        if (reportFile.getAbsoluteFile().getParentFile() != null) {
+            reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        log.info("Load test finished{}", table);
+        log.info("Load test report written to {}", reportFile.getAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : percentile),
+                    millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", histogram.getMean() / 1000);
+        summary.put("latencyMillis", latency);
+        return summary;
+    }
+
+    private static String row(String name, Histogram histogram, long errors, double seconds) {
+        return String.format("%n%-14s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Target {
+        private final String baseUrl;
+        private final List<Session> sessions;
+        private final ZipfSampler users;
+        private final ZipfSampler publications;
+
+        private Target(String baseUrl, List<Session> sessions, ZipfSampler users, ZipfSampler publications) {
+            this.baseUrl = baseUrl;
+            this.sessions = sessions;
+            this.users = users;
+            this.publications = publications;
+        }
+    }
+
+    private static final class Session {
+        private final long userId;
+        private final String email;
+        private final String token;
+
+        private Session(long userId, String email, String token) {
+            this.userId = userId;
+            this.email = email;
+            this.token = token;
+        }
+    }
+
+    private static final class Mix {
+        private final LoadScenario[] scenarios;
+        private final int[] cumulative;
+
+        private Mix(Map<String, Integer> weights) {
+            List<LoadScenario> picked = new ArrayList<>();
+            List<Integer> sums = new ArrayList<>();
+            int sum = 0;
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                if (weight.getValue() != null && weight.getValue() > 0) {
+                    sum += weight.getValue();
+                    picked.add(LoadScenario.fromKey(weight.getKey()));
+                    sums.add(sum);
+                }
+            }
+            if (sum == 0) {
+                throw new IllegalArgumentException("app.loadtest.mix needs at least one positive weight");
+            }
+            this.scenarios = picked.toArray(new LoadScenario[0]);
+            this.cumulative = sums.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private LoadScenario pick(SplittableRandom random) {
+            int value = random.nextInt(cumulative[cumulative.length - 1]);
+            int index = 0;
+            while (cumulative[index] <= value) {
+                index++;
+            }
+            return scenarios[index];
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.akademix.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Request types the load driver mixes, keyed by their name in {@code app.loadtest.mix}.
+ */
+public enum LoadScenario {
+    FEED("feed"),
+    HOME_TIMELINE("home-timeline"),
+    PUBLICATION("publication"),
+    COMMENTS("comments"),
+    PROFILE("profile"),
+    SEARCH("search"),
+    TRENDING("trending"),
+    LIKE("like"),
+    COMMENT("comment"),
+    PUBLISH("publish"),
+    FOLLOW("follow"),
+    LOGIN("login");
+
+    private final String key;
+
+    LoadScenario(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static LoadScenario fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test scenario: " + key));
+    }
+}
@@ -0,0 +1,16 @@
+package com.akademix.loadtest;
+
+import com.akademix.config.LoadTestConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Registers the load test settings, which only exist in builds that include
+ * the load test sources (mvn -P loadtest, ./gradlew loadtest).
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestConfig.class)
+public class LoadTestConfiguration {
+}
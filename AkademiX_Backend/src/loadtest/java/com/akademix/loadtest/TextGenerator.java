@@ -0,0 +1,71 @@
+package com.akademix.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Academic-sounding titles and abstracts from a fixed vocabulary, so search
+ * queries against the generated data have realistic hit rates.
+ */
+final class TextGenerator {
+
+    static final String[] WORDS = {
+            "analysis", "model", "quantum", "neural", "network", "learning", "protein", "structure",
+            "dynamics", "theory", "graph", "algorithm", "complexity", "optimization", "stochastic", "inference",
+            "bayesian", "estimation", "climate", "ocean", "carbon", "energy", "battery", "catalyst",
+            "polymer", "membrane", "cell", "gene", "expression", "sequencing", "genome", "evolution",
+            "population", "survey", "economic", "market", "policy", "urban", "migration", "language",
+            "semantic", "syntax", "corpus", "translation", "vision", "image", "segmentation", "detection",
+            "robot", "control", "sensor", "signal", "spectrum", "wireless", "channel", "coding",
+            "cryptography", "security", "privacy", "distributed", "consensus", "database", "query", "index",
+            "compiler", "memory", "cache", "parallel", "scheduling", "latency", "throughput", "benchmark",
+            "material", "crystal", "thermal", "fluid", "turbulence", "plasma", "laser", "photon",
+            "galaxy", "stellar", "cosmology", "gravitational", "seismic", "sediment", "soil", "water",
+            "education", "curriculum", "assessment", "health", "clinical", "trial", "cohort", "diagnosis",
+            "history", "archive", "ottoman", "manuscript", "philosophy", "ethics", "law", "governance"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Ayse", "Mehmet", "Elif", "Can", "Zeynep", "Emre", "Selin", "Burak", "Deniz", "Ece",
+            "Ada", "Alan", "Grace", "Marie", "Niels", "Emmy", "Kurt", "Rosalind", "Srinivasa", "Hypatia"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Aydin", "Ozturk", "Arslan", "Dogan", "Kilic",
+            "Lovelace", "Turing", "Hopper", "Curie", "Bohr", "Noether", "Godel", "Franklin", "Ramanujan", "Sinan"
+    };
+
+    private TextGenerator() {
+    }
+
+    static String name(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String title(SplittableRandom random) {
+        int words = 4 + random.nextInt(6);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = word(random);
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return title.toString();
+    }
+
+    static String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 9);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 12 == 0 ? ". " : " ");
+            }
+            text.append(word(random));
+        }
+        return text.append('.').toString();
+    }
+}
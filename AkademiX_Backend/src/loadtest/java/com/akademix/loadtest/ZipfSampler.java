@@ -0,0 +1,53 @@
+package com.akademix.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ids 1..n with Zipf-distributed popularity. With {@code shuffled}
+ * the popularity ranks are spread over the id range by a fixed bijection,
+ * so the most popular ids are not simply the smallest ones.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+    private final long multiplier;
+
+    ZipfSampler(int n, double exponent, boolean shuffled) {
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        multiplier = shuffled ? coprimeMultiplier(n) : 1;
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+        return (int) ((rank * multiplier) % cdf.length) + 1;
+    }
+
+    int size() {
+        return cdf.length;
+    }
+
+    private static long coprimeMultiplier(long n) {
+        long candidate = 0x9E3779B1L % n;
+        while (candidate < 2 || gcd(candidate, n) != 1) {
+            candidate = (candidate + 1) % n;
+            if (n <= 2) {
+                return 1;
+            }
+        }
+        return candidate;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
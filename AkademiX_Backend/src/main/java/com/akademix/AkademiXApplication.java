@@ -1,6 +1,18 @@
 package com.akademix;
 
+import com.akademix.config.ConditionalGetConfig;
+import com.akademix.config.CounterConfig;
+import com.akademix.config.DatabaseGateConfig;
+import com.akademix.config.ImportConfig;
 import com.akademix.config.JwtConfig;
+import com.akademix.config.LoginConfig;
+import com.akademix.config.MetricsConfig;
+import com.akademix.config.OutboxConfig;
+import com.akademix.config.ProvisioningConfig;
+import com.akademix.config.PushConfig;
+import com.akademix.config.ReplicaConfig;
+import com.akademix.config.TimelineConfig;
+import com.akademix.config.TrendingConfig;
 import com.akademix.model.Role;
 import com.akademix.repository.RoleRepository;
 import org.springframework.boot.CommandLineRunner;
@@ -8,9 +20,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({JwtConfig.class})
+@EnableScheduling
+@EnableConfigurationProperties({JwtConfig.class, CounterConfig.class, TimelineConfig.class, TrendingConfig.class,
+        ImportConfig.class, MetricsConfig.class, DatabaseGateConfig.class,
+        ConditionalGetConfig.class, LoginConfig.class, ProvisioningConfig.class,
+        PushConfig.class, ReplicaConfig.class, OutboxConfig.class})
 public class AkademiXApplication {
 
     public static void main(String[] args) {
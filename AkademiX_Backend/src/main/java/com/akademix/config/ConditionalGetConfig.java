@@ -0,0 +1,22 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Koşullu GET (ETag/Last-Modified) için sürüm önbelleği ayarları.
+ * application.properties dosyasındaki app.conditional-get.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.conditional-get.max-entries=200000
+ */
+@Data
+@ConfigurationProperties(prefix = "app.conditional-get")
+public class ConditionalGetConfig {
+
+    /**
+     * Bellekte sürümü tutulan en fazla yayın ve kullanıcı sayısı.
+     * Taşan kayıtlar atıldığında ilgili önbellekler güvenli tarafta kalacak şekilde geçersiz sayılır.
+     */
+    private long maxEntries = 200000L;
+}
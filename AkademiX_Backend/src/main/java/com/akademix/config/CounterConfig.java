@@ -0,0 +1,33 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Beğeni ve yorum sayaçlarının toplu yazılma ayarları.
+ * application.properties dosyasındaki app.counters.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.counters.flush-interval=1000
+ * app.counters.batch-size=500
+ * app.counters.user-stats-cache-size=100000
+ */
+@Data
+@ConfigurationProperties(prefix = "app.counters")
+public class CounterConfig {
+
+    /**
+     * Bellekte biriken sayaç değişikliklerinin veritabanına yazılma aralığı (milisaniye cinsinden).
+     */
+    private long flushInterval = 1000L;
+
+    /**
+     * Tek bir JDBC batch içinde gönderilecek en fazla UPDATE sayısı.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Bellekte tutulan en fazla kullanıcı istatistiği (profil sayaçları) sayısı.
+     */
+    private long userStatsCacheSize = 100000L;
+}
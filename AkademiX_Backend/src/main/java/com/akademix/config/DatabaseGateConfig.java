@@ -0,0 +1,42 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Veritabanı bağlantılarına giriş kapısı (admission gate) ayarları.
+ * application.properties dosyasındaki app.db-gate.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.db-gate.enabled=true
+ * app.db-gate.permits=0
+ * app.db-gate.max-queued=200
+ * app.db-gate.max-wait=500ms
+ */
+@Data
+@ConfigurationProperties(prefix = "app.db-gate")
+public class DatabaseGateConfig {
+
+    /**
+     * Bağlantı havuzunun önüne eşzamanlılık sınırlayıcı konulup konulmayacağı.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Aynı anda bağlantı tutabilecek en fazla iş parçacığı sayısı.
+     * 0 verilirse HikariCP havuz boyutu (spring.datasource.hikari.maximum-pool-size) kullanılır.
+     */
+    private int permits = 0;
+
+    /**
+     * Bağlantı için sırada bekleyebilecek en fazla iş parçacığı sayısı; fazlası hemen reddedilir.
+     */
+    private int maxQueued = 200;
+
+    /**
+     * Sıradaki bir iş parçacığının bağlantı için bekleyeceği en uzun süre.
+     */
+    private Duration maxWait = Duration.ofMillis(500);
+}
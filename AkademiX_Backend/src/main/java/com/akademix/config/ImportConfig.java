@@ -0,0 +1,27 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Toplu yayın içe aktarma ayarları.
+ * application.properties dosyasındaki app.import.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.import.batch-size=1000
+ * app.import.max-errors=100
+ */
+@Data
+@ConfigurationProperties(prefix = "app.import")
+public class ImportConfig {
+
+    /**
+     * Tek bir transaction içinde kaydedilen en fazla yayın sayısı.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Yanıtta ayrıntısıyla döndürülen en fazla satır hatası sayısı.
+     */
+    private int maxErrors = 100;
+}
@@ -10,6 +10,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * Örneğin:
  * app.jwt.secret=secret_key
  * app.jwt.expiration=86400000
+ * app.jwt.cache-enabled=true
+ * app.jwt.cache-size=10000
  */
 @Data
 @ConfigurationProperties(prefix = "app.jwt")
@@ -25,4 +27,15 @@ public class JwtConfig {
      * Varsayılan değer: 1 gün (86.400.000 ms)
      */
     private long expiration = 86400000L;
+    
+    /**
+     * Doğrulanmış token'ların bellekte tutulup tutulmayacağı.
+     * Açıkken aynı token ile gelen isteklerde imza tekrar doğrulanmaz.
+     */
+    private boolean cacheEnabled = true;
+    
+    /**
+     * Bellekte tutulacak en fazla doğrulanmış token sayısı.
+     */
+    private long cacheSize = 10000L;
 } 
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Giriş (login) hattı ayarları: parola doğrulama havuzu, deneme sınırları ve yenileme token'ları.
+ * application.properties dosyasındaki app.login.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.login.hashing-threads=0
+ * app.login.max-queued=64
+ * app.login.max-wait=2s
+ * app.login.account-capacity=5
+ * app.login.account-refill=30s
+ * app.login.ip-capacity=30
+ * app.login.ip-refill=2s
+ * app.login.refresh-token-ttl=30d
+ */
+@Data
+@ConfigurationProperties(prefix = "app.login")
+public class LoginConfig {
+
+    /**
+     * BCrypt doğrulaması yapan iş parçacığı sayısı.
+     * 0 verilirse işlemci çekirdeklerinin yarısı (en az 1) kullanılır; kalan çekirdekler normal trafiğe kalır.
+     */
+    private int hashingThreads = 0;
+
+    /**
+     * Doğrulama için sırada bekleyebilecek en fazla istek sayısı; fazlası 503 ile reddedilir.
+     */
+    private int maxQueued = 64;
+
+    /**
+     * Bir isteğin parola doğrulamasının bitmesini bekleyeceği en uzun süre.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Bir hesap için art arda yapılabilecek en fazla giriş denemesi.
+     */
+    private int accountCapacity = 5;
+
+    /**
+     * Bir hesabın yeni bir giriş denemesi hakkı kazanması için geçen süre.
+     */
+    private Duration accountRefill = Duration.ofSeconds(30);
+
+    /**
+     * Bir IP adresinden art arda yapılabilecek en fazla giriş denemesi.
+     */
+    private int ipCapacity = 30;
+
+    /**
+     * Bir IP adresinin yeni bir giriş denemesi hakkı kazanması için geçen süre.
+     */
+    private Duration ipRefill = Duration.ofSeconds(2);
+
+    /**
+     * Deneme sayaçları tutulan en fazla hesap ve IP adresi sayısı (her biri için ayrı).
+     */
+    private long trackedClients = 100000L;
+
+    /**
+     * Yenileme (refresh) token'ının geçerlilik süresi.
+     */
+    private Duration refreshTokenTtl = Duration.ofDays(30);
+}
@@ -0,0 +1,34 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * İstek bazlı ölçüm ve sorgu bütçesi ayarları.
+ * application.properties dosyasındaki app.metrics.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.metrics.query-budget=10
+ * app.metrics.entity-budget=200
+ * app.metrics.reported-fingerprints=5
+ */
+@Data
+@ConfigurationProperties(prefix = "app.metrics")
+public class MetricsConfig {
+
+    /**
+     * Tek bir isteğin çalıştırabileceği en fazla Hibernate SQL ifadesi sayısı.
+     * Aşan istekler uç nokta ve sorgu parmak izleriyle birlikte loglanır.
+     */
+    private int queryBudget = 10;
+
+    /**
+     * Tek bir isteğin yükleyebileceği en fazla entity sayısı.
+     */
+    private int entityBudget = 200;
+
+    /**
+     * Bütçe aşıldığında loglanacak en sık tekrarlanan sorgu parmak izi sayısı.
+     */
+    private int reportedFingerprints = 5;
+}
@@ -0,0 +1,63 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * İşlem çıkış kutusu (transactional outbox) ve olay dağıtıcısı ayarları.
+ * application.properties dosyasındaki app.outbox.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.outbox.poll-interval=200ms
+ * app.outbox.batch-size=200
+ * app.outbox.max-attempts=10
+ * app.outbox.retry-backoff=1s
+ * app.outbox.max-retry-backoff=5m
+ * app.outbox.gap-timeout=30s
+ * app.outbox.retention=1h
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxConfig {
+
+    /**
+     * Her sunucunun yeni olayları yoklama aralığı. Dolu bir parti okunduğunda beklemeden devam edilir.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Tek bir sorguda okunan en fazla olay sayısı.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Bir olayın bir işleyici için en fazla deneme sayısı. Bu sayıya ulaşıldığında
+     * o işleyici için olaydan vazgeçilir ve loglanır; diğer işleyiciler etkilenmez.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Başarısız ilk denemeden sonraki bekleme süresi; her yeni denemede iki katına çıkar.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Denemeler arasındaki en uzun bekleme süresi.
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Daha yeni bir olay okunduğu halde henüz görünmeyen bir olay numarasının beklendiği süre.
+     * Numara, commit edilmemiş bir transaction'a ait olabilir; süre dolunca geri alındığı varsayılır.
+     * En uzun yazma transaction'ından uzun olmalıdır.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Olayların tabloda tutulma süresi. Tüm sunucuların okuyabilmesi için gap-timeout
+     * değerinden ve bir sunucunun yaşayabileceği en uzun duraklamadan uzun olmalıdır.
+     */
+    private Duration retention = Duration.ofHours(1);
+}
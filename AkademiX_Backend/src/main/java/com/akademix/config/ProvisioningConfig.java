@@ -0,0 +1,34 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Toplu kullanıcı hesabı açma (provisioning) ayarları.
+ * application.properties dosyasındaki app.provisioning.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.provisioning.batch-size=500
+ * app.provisioning.hashing-parallelism=0
+ * app.provisioning.max-errors=100
+ */
+@Data
+@ConfigurationProperties(prefix = "app.provisioning")
+public class ProvisioningConfig {
+
+    /**
+     * Tek bir transaction içinde açılan en fazla hesap sayısı; her parti sonunda ilerleme satırı yazılır.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Parolaları BCrypt ile özetleyen fork-join havuzunun paralellik düzeyi.
+     * 0 verilirse işlemci çekirdeklerinin yarısı (en az 1) kullanılır.
+     */
+    private int hashingParallelism = 0;
+
+    /**
+     * Sonuçta ayrıntısıyla döndürülen en fazla satır hatası sayısı.
+     */
+    private int maxErrors = 100;
+}
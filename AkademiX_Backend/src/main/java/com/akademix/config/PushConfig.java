@@ -0,0 +1,68 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sunucudan istemciye anlık bildirim (SSE) kanalı ayarları.
+ * application.properties dosyasındaki app.push.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.push.max-connections=50000
+ * app.push.max-topics=50
+ * app.push.buffer-size=32
+ * app.push.dispatcher-threads=2
+ * app.push.send-timeout=2s
+ * app.push.max-stalled-writes=64
+ * app.push.heartbeat-interval=25s
+ * app.push.connection-timeout=30m
+ */
+@Data
+@ConfigurationProperties(prefix = "app.push")
+public class PushConfig {
+
+    /**
+     * Aynı anda açık tutulabilecek en fazla bağlantı sayısı; fazlası 503 ile reddedilir.
+     */
+    private int maxConnections = 50000;
+
+    /**
+     * Bir bağlantının abone olabileceği en fazla yayın sayısı.
+     */
+    private int maxTopics = 50;
+
+    /**
+     * Bir bağlantı için gönderilmeyi bekleyebilecek en fazla olay sayısı.
+     * Dolan bağlantı yavaş istemci sayılır ve kapatılır; istemci yeniden bağlanıp güncel durumu okur.
+     */
+    private int bufferSize = 32;
+
+    /**
+     * Olayları bağlantılara yazan iş parçacığı sayısı.
+     */
+    private int dispatcherThreads = 2;
+
+    /**
+     * Bir olayın istemciye yazılması için beklenebilecek en uzun süre. Aşılırsa istemci okumayı bırakmış
+     * sayılır ve bağlantı kapatılır; takılan yazma sürerken yerine geçici bir iş parçacığı eklenir.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Takılan yazmaların yerine aynı anda eklenebilecek en fazla iş parçacığı sayısı.
+     */
+    private int maxStalledWrites = 64;
+
+    /**
+     * Boştaki bağlantılara gönderilen heartbeat aralığı; ara sunucuların bağlantıyı kesmesini önler
+     * ve kopmuş bağlantıları ortaya çıkarır.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /**
+     * Bir bağlantının açık kalabileceği en uzun süre; sonrasında istemci yeniden bağlanır.
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
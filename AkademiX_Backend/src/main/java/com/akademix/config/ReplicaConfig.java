@@ -0,0 +1,80 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Okuma replikası (read replica) yönlendirme ayarları.
+ * application.properties dosyasındaki app.replicas.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.replicas.enabled=true
+ * app.replicas.nodes[0].name=replica-1
+ * app.replicas.nodes[0].url=jdbc:postgresql://replica-1:5432/postgres
+ * app.replicas.max-lag=2s
+ * app.replicas.lag-check-interval=1s
+ * app.replicas.read-your-writes-window=5s
+ */
+@Data
+@ConfigurationProperties(prefix = "app.replicas")
+public class ReplicaConfig {
+
+    /**
+     * Salt okunur (readOnly) transaction'ların replikalara yönlendirilip yönlendirilmeyeceği.
+     * Kapalıyken tüm sorgular spring.datasource ile tanımlanan birincil veritabanına gider.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replika veritabanları. Kullanıcı adı, parola ve diğer havuz ayarları verilmezse
+     * birincil havuzun (spring.datasource.hikari.*) ayarları kullanılır.
+     */
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Kabul edilen en fazla replikasyon gecikmesi. Gecikmesi bunu aşan ya da ölçülemeyen replika,
+     * gecikme yeniden düşene kadar kullanılmaz; hiç uygun replika yoksa okumalar birincile gider.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * Replikaların gecikmesinin ölçülme aralığı.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    /**
+     * Replikada çalıştırılıp gecikmeyi saniye cinsinden döndüren sorgu (varsayılanı PostgreSQL içindir).
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    /**
+     * Bir kullanıcının yazma işleminden sonra okumalarının birincil veritabanına gittiği süre;
+     * böylece kullanıcı kendi değişikliğini hemen görür. max-lag değerinden kısa olmamalıdır.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Node {
+
+        /**
+         * Metriklerde ve havuz adında kullanılan replika adı.
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Replika bağlantı havuzunun boyutu; 0 verilirse birincil havuzun boyutu kullanılır.
+         */
+        private int maximumPoolSize = 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ana sayfa akışı (home timeline) ayarları.
+ * application.properties dosyasındaki app.timeline.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.timeline.capacity=800
+ * app.timeline.max-positions=4000000
+ * app.timeline.fan-out-limit=10000
+ */
+@Data
+@ConfigurationProperties(prefix = "app.timeline")
+public class TimelineConfig {
+
+    /**
+     * Bir kullanıcının bellekteki akışında tutulan en fazla yayın sayısı.
+     */
+    private int capacity = 800;
+
+    /**
+     * Bellekteki tüm akışlarda tutulan en fazla yayın sayısı. Her kayıt yaklaşık 16 bayt yer kaplar;
+     * varsayılan değer yaklaşık 64 MB'a karşılık gelir. Akışın oluşturulduğu yazar listesi de iki yazar
+     * bir kayıt olacak şekilde sayılır. Sınır aşıldığında en az kullanılan akışlar atılır.
+     */
+    private long maxPositions = 4000000L;
+
+    /**
+     * Bu sayıdan fazla takipçisi olan yazarların yayınları akışlara yazılmaz,
+     * okuma sırasında birleştirilir.
+     */
+    private int fanOutLimit = 10000;
+}
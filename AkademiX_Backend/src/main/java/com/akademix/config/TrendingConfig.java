@@ -0,0 +1,50 @@
+package com.akademix.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Öne çıkan (trending) yayın sıralaması ayarları.
+ * application.properties dosyasındaki app.trending.* özelliklerini eşler.
+ *
+ * Örneğin:
+ * app.trending.half-life=6h
+ * app.trending.capacity=10000
+ * app.trending.checkpoint-interval=60000
+ */
+@Data
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingConfig {
+
+    /**
+     * Bir etkileşimin puana katkısının yarıya inmesi için geçen süre.
+     */
+    private Duration halfLife = Duration.ofHours(6);
+
+    /**
+     * Bellekte puanı tutulan en fazla yayın sayısı; en düşük puanlılar çıkarılır.
+     */
+    private int capacity = 10000;
+
+    /**
+     * Beğeni başına eklenen puan.
+     */
+    private double likeWeight = 1.0;
+
+    /**
+     * Yorum başına eklenen puan.
+     */
+    private double commentWeight = 3.0;
+
+    /**
+     * Puanların veritabanına kaydedilme aralığı (milisaniye cinsinden).
+     */
+    private long checkpointInterval = 60000L;
+
+    /**
+     * Kayıtlı puan yoksa ilk açılışta sayaçlardan puanı hesaplanacak yayınların en fazla yaşı.
+     */
+    private Duration bootstrapWindow = Duration.ofDays(7);
+}
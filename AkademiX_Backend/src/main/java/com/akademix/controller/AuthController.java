@@ -1,6 +1,7 @@
 package com.akademix.controller;
 
 import com.akademix.dto.LoginDTO;
+import com.akademix.dto.RefreshTokenDTO;
 import com.akademix.dto.RegisterDTO;
 import com.akademix.dto.TokenDTO;
 import com.akademix.model.Role;
@@ -8,19 +9,22 @@ import com.akademix.model.User;
 import com.akademix.repository.RoleRepository;
 import com.akademix.repository.UserRepository;
 import com.akademix.security.JwtUtils;
+import com.akademix.security.LoginThrottle;
+import com.akademix.security.RefreshTokenService;
 import com.akademix.security.UserDetailsImpl;
+import com.akademix.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashSet;
 import java.util.Set;
@@ -33,11 +37,14 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
     private final JwtUtils jwtUtils;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
-    public ResponseEntity<TokenDTO> login(@Valid @RequestBody LoginDTO loginDTO) {
+    public ResponseEntity<TokenDTO> login(@Valid @RequestBody LoginDTO loginDTO, HttpServletRequest request) {
+        loginThrottle.acquire(loginDTO.getEmail(), request.getRemoteAddr());
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginDTO.getEmail(), loginDTO.getPassword()));
 
@@ -46,7 +53,21 @@ public class AuthController {
 
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        return ResponseEntity.ok(new TokenDTO(jwt, userDetails.getId()));
+        return ResponseEntity.ok(new TokenDTO(jwt, refreshTokenService.issue(userDetails.getId()), userDetails.getId()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenDTO> refresh(@Valid @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        UserDetailsImpl userDetails = refreshTokenService.exchange(refreshTokenDTO.getRefreshToken());
+        String jwt = jwtUtils.generateJwtToken(userDetails);
+
+        return ResponseEntity.ok(new TokenDTO(jwt, refreshTokenService.issue(userDetails.getId()), userDetails.getId()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenDTO refreshTokenDTO) {
+        refreshTokenService.revoke(refreshTokenDTO.getRefreshToken());
+        return ResponseEntity.ok("Logged out successfully");
     }
 
     @PostMapping("/register")
@@ -58,7 +79,6 @@ public class AuthController {
         User user = new User();
         user.setName(registerDTO.getName());
         user.setEmail(registerDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(registerDTO.getPassword()));
         user.setTitle(registerDTO.getTitle());
         user.setInstitution(registerDTO.getInstitution());
 
@@ -68,7 +88,7 @@ public class AuthController {
         roles.add(userRole);
         user.setRoles(roles);
 
-        userRepository.save(user);
+        userService.createUser(user, registerDTO.getPassword());
 
         return ResponseEntity.ok("User registered successfully!");
     }
@@ -1,6 +1,7 @@
 package com.akademix.controller;
 
 import com.akademix.dto.CommentDTO;
+import com.akademix.dto.CursorPageDTO;
 import com.akademix.security.UserDetailsImpl;
 import com.akademix.service.CommentService;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,23 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getPublicationComments(publicationId, pageable));
     }
 
+    @GetMapping("/publication/{publicationId}/cursor")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getPublicationCommentFeed(
+            @PathVariable Long publicationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        return ResponseEntity.ok(commentService.getPublicationCommentFeed(publicationId, cursor, size, replies));
+    }
+
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getReplies(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(commentService.getReplies(id, cursor, size));
+    }
+
     @PostMapping("/publication/{publicationId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<CommentDTO> createComment(
@@ -46,6 +64,19 @@ public class CommentController {
         return ResponseEntity.ok(comment);
     }
 
+    @PostMapping("/{id}/replies")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CommentDTO> createReply(
+            @PathVariable Long id,
+            @Valid @RequestBody CreateCommentRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        CommentDTO reply = commentService.createReply(request.getContent(), id, userDetails.getId());
+
+        return ResponseEntity.ok(reply);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<CommentDTO> updateComment(
@@ -0,0 +1,43 @@
+package com.akademix.controller;
+
+import com.akademix.dto.CursorPageDTO;
+import com.akademix.dto.PublicationDTO;
+import com.akademix.security.UserDetailsImpl;
+import com.akademix.timeline.HomeTimelineService;
+import com.akademix.versioning.ResourceVersion;
+import com.akademix.versioning.ResourceVersionCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final HomeTimelineService homeTimelineService;
+    private final ResourceVersionCache versionCache;
+
+    @GetMapping("/home")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageDTO<PublicationDTO>> getHomeTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        if (versionCache.homeTimeline(userDetails.getId()).isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(homeTimelineService.getHomeTimeline(userDetails.getId(), cursor, size));
+    }
+}
@@ -1,9 +1,16 @@
 package com.akademix.controller;
 
+import com.akademix.dto.CursorPageDTO;
+import com.akademix.dto.ImportResultDTO;
 import com.akademix.dto.PublicationDTO;
 import com.akademix.dto.PublicationDetailsDTO;
+import com.akademix.dto.PublicationSearchResultDTO;
+import com.akademix.ingest.ImportFormat;
 import com.akademix.security.UserDetailsImpl;
+import com.akademix.service.PublicationImportService;
 import com.akademix.service.PublicationService;
+import com.akademix.versioning.ResourceVersion;
+import com.akademix.versioning.ResourceVersionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,8 +21,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,32 +34,87 @@ import java.util.List;
 public class PublicationController {
 
     private final PublicationService publicationService;
+    private final PublicationImportService publicationImportService;
+    private final ResourceVersionCache versionCache;
 
     @GetMapping
     public ResponseEntity<Page<PublicationDTO>> getAllPublications(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (versionCache.feed().isNotModified(request)) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(publicationService.getAllPublications(pageable));
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getAllPublications(pageable));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<PublicationDTO>> getPublicationFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (versionCache.feed().isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getPublicationFeed(cursor, size));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<PublicationDTO>> getTrendingPublications(
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (versionCache.feed().isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getTrendingPublications(size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PublicationDetailsDTO> getPublicationDetails(@PathVariable Long id) {
-        return ResponseEntity.ok(publicationService.getPublicationDetails(id));
+    public ResponseEntity<PublicationDetailsDTO> getPublicationDetails(@PathVariable Long id, WebRequest request) {
+        if (versionCache.publication(id).isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getPublicationDetails(id));
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<PublicationDTO>> getUserPublications(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (versionCache.authorFeed(userId).isNotModified(request)) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(publicationService.getUserPublications(userId, pageable));
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getUserPublications(userId, pageable));
+    }
+
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPageDTO<PublicationDTO>> getUserPublicationFeed(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (versionCache.authorFeed(userId).isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(publicationService.getUserPublicationFeed(userId, cursor, size));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<PublicationDTO>> searchPublications(@RequestParam String keyword) {
-        return ResponseEntity.ok(publicationService.searchPublications(keyword));
+    public ResponseEntity<Page<PublicationSearchResultDTO>> searchPublications(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(publicationService.searchPublications(keyword, PageRequest.of(page, size)));
     }
 
     @PostMapping
@@ -64,6 +129,22 @@ public class PublicationController {
         return ResponseEntity.ok(publication);
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ImportResultDTO> importPublications(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        boolean mayImportForOthers = userDetails.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN")
+                        || authority.getAuthority().equals("ROLE_MODERATOR"));
+
+        ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+        return ResponseEntity.ok(publicationImportService.importPublications(
+                request.getInputStream(), importFormat, userDetails.getId(), mayImportForOthers));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<PublicationDTO> updatePublication(
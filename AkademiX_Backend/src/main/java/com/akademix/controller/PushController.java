@@ -0,0 +1,43 @@
+package com.akademix.controller;
+
+import com.akademix.push.PushBus;
+import com.akademix.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/push")
+@RequiredArgsConstructor
+public class PushController {
+
+    private final PushBus pushBus;
+
+    /**
+     * Server-sent events for the current user (new followers) and for the
+     * given publications (likes, comments, deletion).
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter stream(@RequestParam(required = false) List<Long> publications) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        List<String> topics = new ArrayList<>();
+        topics.add(PushBus.userTopic(userDetails.getId()));
+        if (publications != null) {
+            publications.stream().distinct().map(PushBus::publicationTopic).forEach(topics::add);
+        }
+        return pushBus.subscribe(topics);
+    }
+}
@@ -2,16 +2,24 @@ package com.akademix.controller;
 
 import com.akademix.dto.UserProfileDTO;
 import com.akademix.dto.UserSummaryDTO;
-import com.akademix.model.User;
 import com.akademix.security.UserDetailsImpl;
+import com.akademix.service.UserProvisioningService;
 import com.akademix.service.UserService;
+import com.akademix.versioning.ResourceVersion;
+import com.akademix.versioning.ResourceVersionCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,18 +28,35 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final ResourceVersionCache versionCache;
 
     @GetMapping("/me")
-    public ResponseEntity<UserProfileDTO> getCurrentUser() {
+    public ResponseEntity<UserProfileDTO> getCurrentUser(WebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         
-        return ResponseEntity.ok(userService.getUserProfile(userDetails.getId()));
+        if (versionCache.user(userDetails.getId()).isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(userService.getUserProfile(userDetails.getId()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserProfileDTO> getUserProfile(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserProfile(id));
+    public ResponseEntity<UserProfileDTO> getUserProfile(@PathVariable Long id, WebRequest request) {
+        if (versionCache.user(id).isNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE)
+                .body(userService.getUserProfile(id));
+    }
+    
+    @PostMapping("/provision")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void provisionUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        userProvisioningService.provision(request.getInputStream(), response.getOutputStream());
     }
     
     @GetMapping("/search")
@@ -60,12 +85,31 @@ public class UserController {
     }
     
     @GetMapping("/{id}/followers")
-    public ResponseEntity<List<User>> getFollowers(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getFollowers(id));
+    public ResponseEntity<Page<UserSummaryDTO>> getFollowers(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getFollowers(id, PageRequest.of(page, size)));
     }
     
     @GetMapping("/{id}/following")
-    public ResponseEntity<List<User>> getFollowing(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getFollowing(id));
+    public ResponseEntity<Page<UserSummaryDTO>> getFollowing(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getFollowing(id, PageRequest.of(page, size)));
+    }
+    
+    @GetMapping("/{id}/mutuals")
+    public ResponseEntity<Page<UserSummaryDTO>> getMutualFollowers(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.getMutualFollowers(id, PageRequest.of(page, size)));
+    }
+    
+    @GetMapping("/{id}/follows/{targetId}")
+    public ResponseEntity<Boolean> isFollowing(@PathVariable Long id, @PathVariable Long targetId) {
+        return ResponseEntity.ok(userService.isFollowing(id, targetId));
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
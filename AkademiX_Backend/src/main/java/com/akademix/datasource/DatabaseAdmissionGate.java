@@ -0,0 +1,103 @@
+package com.akademix.datasource;
+
+import com.akademix.config.DatabaseGateConfig;
+import com.akademix.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many threads may hold a database connection at once, sized to the
+ * connection pool by default. Threads beyond that wait for a short, bounded time
+ * in a bounded queue and are rejected otherwise, so a burst of requests (cheap to
+ * park on virtual threads) fails fast instead of piling up on the pool.
+ */
+@Component
+public class DatabaseAdmissionGate implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int permitCount;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile Timer queueTime;
+    private volatile Counter rejected;
+
+    public DatabaseAdmissionGate(DatabaseGateConfig databaseGateConfig,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.permitCount = databaseGateConfig.getPermits() > 0 ? databaseGateConfig.getPermits() : poolSize;
+        this.permits = new Semaphore(permitCount, true);
+        this.maxQueued = databaseGateConfig.getMaxQueued();
+        this.maxWaitNanos = databaseGateConfig.getMaxWait().toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        queueTime = Timer.builder("akademix.db.gate.queue")
+                .description("Time spent waiting for a database admission permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("akademix.db.gate.rejected")
+                .description("Connection requests refused by the database admission gate")
+                .register(registry);
+        Gauge.builder("akademix.db.gate.active", this, gate -> gate.permitCount - gate.permits.availablePermits())
+                .description("Threads currently holding a database admission permit")
+                .register(registry);
+        Gauge.builder("akademix.db.gate.queued", queued, AtomicInteger::get)
+                .description("Threads waiting for a database admission permit")
+                .register(registry);
+    }
+
+    public void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            record(0);
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw reject("Database admission queue is full (" + maxQueued + " waiting)");
+        }
+        long started = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw reject("No database admission permit within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database admission permit", e);
+        } finally {
+            queued.decrementAndGet();
+        }
+        record(System.nanoTime() - started);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    private void record(long nanos) {
+        Timer timer = queueTime;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private DatabaseBusyException reject(String message) {
+        Counter counter = rejected;
+        if (counter != null) {
+            counter.increment();
+        }
+        return new DatabaseBusyException(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.akademix.datasource;
+
+import com.akademix.config.DatabaseGateConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DatabaseGateConfiguration {
+
+    /**
+     * Puts the admission gate in front of the auto-configured pool.
+     */
+    @Bean
+    public static BeanPostProcessor databaseGatePostProcessor(ObjectProvider<DatabaseGateConfig> databaseGateConfig,
+                                                              ObjectProvider<DatabaseAdmissionGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && "dataSource".equals(beanName)
+                        && databaseGateConfig.getObject().isEnabled()) {
+                    return new AdmissionControlledDataSource((DataSource) bean, gate.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.akademix.datasource;
+
+import com.akademix.config.ReplicaConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the replication lag of every replica with {@code app.replicas.lag-query}
+ * and hands out, round robin, only the replicas within {@code app.replicas.max-lag}.
+ * A replica that cannot be reached counts as lagging until a check succeeds.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder, DisposableBean {
+
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Double> lagSeconds = new LinkedHashMap<>();
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long maxLagMillis;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    private volatile List<String> healthy = Collections.emptyList();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, ReplicaConfig replicaConfig) {
+        this.replicas = replicas;
+        this.lagQuery = replicaConfig.getLagQuery();
+        this.maxLagMillis = replicaConfig.getMaxLag().toMillis();
+        this.maxLagSeconds = maxLagMillis / 1000.0;
+        replicas.keySet().forEach(name -> lagSeconds.put(name, Double.NaN));
+        this.scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = replicaConfig.getLagCheckInterval().toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : replicas.keySet()) {
+            Gauge.builder("akademix.db.replica.lag", this, monitor -> monitor.lagSeconds(name))
+                    .description("Replication lag of a read replica in seconds, NaN while unreachable")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(registry);
+        }
+        FunctionCounter.builder("akademix.db.routing.reads", replicaReads, LongAdder::sum)
+                .description("Read-only transactions by the database they were routed to")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("akademix.db.routing.reads", primaryReads, LongAdder::sum)
+                .description("Read-only transactions by the database they were routed to")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * A replica within the lag tolerance, or {@code null} if there is none.
+     */
+    public String pick() {
+        List<String> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    void recordRead(boolean onReplica) {
+        (onReplica ? replicaReads : primaryReads).increment();
+    }
+
+    /**
+     * Runs {@code task} once every replica has had time to apply a write made
+     * now, e.g. to evict cache entries a lagging replica may have repopulated.
+     */
+    public void afterLagWindow(Runnable task) {
+        scheduler.schedule(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Task after replica lag window failed", e);
+            }
+        }, maxLagMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Closing replica pool failed", e);
+                }
+            }
+        }
+    }
+
+    private synchronized double lagSeconds(String name) {
+        return lagSeconds.get(name);
+    }
+
+    private void check() {
+        List<String> current = new ArrayList<>();
+        replicas.forEach((name, replica) -> {
+            double lag = measure(name, replica);
+            synchronized (this) {
+                lagSeconds.put(name, lag);
+            }
+            if (lag <= maxLagSeconds) {
+                current.add(name);
+            }
+        });
+        if (!current.equals(healthy)) {
+            log.info("Replicas within the lag tolerance: {}", current);
+        }
+        healthy = List.copyOf(current);
+    }
+
+    private double measure(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? result.getDouble(1) : Double.NaN;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Lag check of replica {} failed: {}", name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
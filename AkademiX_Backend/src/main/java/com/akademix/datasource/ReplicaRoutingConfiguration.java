@@ -0,0 +1,82 @@
+package com.akademix.datasource;
+
+import com.akademix.config.ReplicaConfig;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool with a primary pool plus one pool per
+ * replica behind a routing data source. The primary keeps the bean name
+ * {@code dataSource}, so the admission gate still wraps the primary pool only.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("dataSource") DataSource primary,
+                                               ReplicaConfig replicaConfig) throws SQLException {
+        HikariDataSource primaryPool = primary.unwrap(HikariDataSource.class);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaConfig.getNodes().size(); i++) {
+            ReplicaConfig.Node node = replicaConfig.getNodes().get(i);
+            String name = node.getName() != null ? node.getName() : "replica-" + (i + 1);
+            HikariConfig config = new HikariConfig();
+            primaryPool.copyStateTo(config);
+            config.setPoolName(name);
+            config.setJdbcUrl(node.getUrl());
+            if (node.getUsername() != null) {
+                config.setUsername(node.getUsername());
+                config.setPassword(node.getPassword());
+            }
+            if (node.getMaximumPoolSize() > 0) {
+                config.setMaximumPoolSize(node.getMaximumPoolSize());
+            }
+            config.setReadOnly(true);
+            // Don't hold up startup on a replica that is down; the lag monitor keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaLagMonitor(replicas, replicaConfig);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaConfig replicaConfig) {
+        return new ReadYourWritesTracker(replicaConfig);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("dataSource") DataSource primary,
+                                        ReplicaLagMonitor replicaLagMonitor,
+                                        ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.replicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
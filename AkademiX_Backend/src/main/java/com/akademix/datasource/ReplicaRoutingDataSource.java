@@ -0,0 +1,48 @@
+package com.akademix.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions to a replica within the lag
+ * tolerance and everything else to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction's read-only flag is only set after the transaction manager
+ * asks for its connection, so the routing decision has to wait for the first
+ * statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    /**
+     * Whether the current thread is in a read-write transaction, i.e. reads
+     * are guaranteed to see the primary. Outside of one, even a plain
+     * repository call runs in Spring Data's read-only default transaction.
+     */
+    public static boolean isReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (isReadWriteTransaction()) {
+                readYourWrites.recordWrite();
+            }
+            return PRIMARY;
+        }
+        String replica = readYourWrites.isRecentWriter() ? null : lagMonitor.pick();
+        lagMonitor.recordRead(replica != null);
+        return replica != null ? replica : PRIMARY;
+    }
+}
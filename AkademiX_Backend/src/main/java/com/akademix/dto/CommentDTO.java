@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -17,7 +18,12 @@ public class CommentDTO {
     private Long authorId;
     private String authorName;
     private Long publicationId;
+    private Long parentId;
+    private Integer depth;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer likesCount;
+    private Integer repliesCount;
+    // First replies of a top-level comment in thread order; set on thread pages only
+    private List<CommentDTO> replies;
 } 
\ No newline at end of file
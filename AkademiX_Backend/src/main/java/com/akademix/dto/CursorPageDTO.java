@@ -0,0 +1,27 @@
+package com.akademix.dto;
+
+import com.akademix.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> CursorPageDTO<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPageDTO<>(content, nextCursor, slice.hasNext());
+    }
+}
@@ -0,0 +1,23 @@
+package com.akademix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+    private String format;
+    private Long processed;
+    private Long imported;
+    private Long failed;
+    private Long durationMillis;
+    private Double rowsPerSecond;
+    private List<ImportErrorDTO> errors;
+    private Boolean errorsTruncated;
+}
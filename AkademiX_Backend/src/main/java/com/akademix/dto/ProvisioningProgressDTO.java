@@ -0,0 +1,26 @@
+package com.akademix.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProvisioningProgressDTO {
+    private Long processed;
+    private Long created;
+    private Long skipped;
+    private Long failed;
+    private Long durationMillis;
+    private Double rowsPerSecond;
+    private Boolean done;
+    private List<ImportErrorDTO> errors;
+    private Boolean errorsTruncated;
+}
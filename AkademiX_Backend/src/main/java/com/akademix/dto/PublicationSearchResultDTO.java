@@ -0,0 +1,24 @@
+package com.akademix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicationSearchResultDTO {
+    private Long id;
+    private String title;
+    private String snippet;
+    private Long authorId;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private Integer likesCount;
+    private Integer commentsCount;
+    private Double score;
+}
@@ -9,5 +9,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TokenDTO {
     private String token;
+    private String refreshToken;
     private Long userId;
 } 
\ No newline at end of file
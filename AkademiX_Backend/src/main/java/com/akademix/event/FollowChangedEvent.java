@@ -0,0 +1,13 @@
+package com.akademix.event;
+
+import lombok.Value;
+
+/**
+ * Published by UserService when a follow or unfollow actually changed state.
+ */
+@Value
+public class FollowChangedEvent {
+    Long followerId;
+    Long targetUserId;
+    boolean following;
+}
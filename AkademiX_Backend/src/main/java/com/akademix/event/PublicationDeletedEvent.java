@@ -0,0 +1,12 @@
+package com.akademix.event;
+
+import lombok.Value;
+
+/**
+ * Published by PublicationService after a publication is deleted.
+ */
+@Value
+public class PublicationDeletedEvent {
+    Long publicationId;
+    Long authorId;
+}
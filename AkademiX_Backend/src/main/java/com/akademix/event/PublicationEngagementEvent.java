@@ -0,0 +1,22 @@
+package com.akademix.event;
+
+import lombok.Value;
+
+/**
+ * Published when a like or comment on a publication is added ({@code delta = 1})
+ * or removed ({@code delta = -1}, or minus the thread size when a comment is
+ * deleted together with its replies).
+ */
+@Value
+public class PublicationEngagementEvent {
+
+    public enum Type {
+        LIKE,
+        COMMENT
+    }
+
+    Long publicationId;
+    Long authorId;
+    Type type;
+    int delta;
+}
@@ -0,0 +1,18 @@
+package com.akademix.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by PublicationService after a publication is created or updated.
+ */
+@Value
+public class PublicationSavedEvent {
+    Long publicationId;
+    Long authorId;
+    String title;
+    String content;
+    LocalDateTime createdAt;
+    boolean created;
+}
@@ -0,0 +1,18 @@
+package com.akademix.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a database connection is refused by the admission gate. It
+ * surfaces wrapped in data access exceptions; MVC resolves the cause chain to 503.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    public DatabaseBusyException(String message) {
+        super(message, "08001");
+    }
+}
@@ -0,0 +1,16 @@
+package com.akademix.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when password hashing capacity is exhausted, so the login is refused
+ * instead of queueing behind every other login.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LoginBusyException extends RuntimeException {
+
+    public LoginBusyException(String message) {
+        super(message);
+    }
+}
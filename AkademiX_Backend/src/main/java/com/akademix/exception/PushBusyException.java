@@ -0,0 +1,16 @@
+package com.akademix.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the push channel already holds its maximum number of open
+ * connections.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PushBusyException extends RuntimeException {
+
+    public PushBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,162 @@
+package com.akademix.graph;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the user_followers table as sorted {@code long[]}
+ * adjacency lists, one per direction.
+ * <p>
+ * Arrays are never mutated once published, so readers need no locking;
+ * writers replace a user's array under the index monitor.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraphIndex {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int FETCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, long[]> followers = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> following = new ConcurrentHashMap<>();
+
+    public synchronized void load() {
+        Map<Long, LongListBuilder> followerLists = new HashMap<>();
+        Map<Long, LongListBuilder> followingLists = new HashMap<>();
+
+        // A transaction lets the driver honour the fetch size instead of buffering every row
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement("SELECT user_id, follower_id FROM user_followers");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            long userId = rs.getLong(1);
+            long followerId = rs.getLong(2);
+            followerLists.computeIfAbsent(userId, id -> new LongListBuilder()).add(followerId);
+            followingLists.computeIfAbsent(followerId, id -> new LongListBuilder()).add(userId);
+        }));
+
+        followers.keySet().retainAll(followerLists.keySet());
+        following.keySet().retainAll(followingLists.keySet());
+        followerLists.forEach((id, list) -> followers.put(id, list.toSortedArray()));
+        followingLists.forEach((id, list) -> following.put(id, list.toSortedArray()));
+        log.info("Follow graph loaded with {} edges", followerLists.values().stream().mapToLong(list -> list.size).sum());
+    }
+
+    public synchronized void add(long followerId, long targetUserId) {
+        followers.put(targetUserId, insert(followers.getOrDefault(targetUserId, EMPTY), followerId));
+        following.put(followerId, insert(following.getOrDefault(followerId, EMPTY), targetUserId));
+    }
+
+    public synchronized void remove(long followerId, long targetUserId) {
+        followers.computeIfPresent(targetUserId, (id, ids) -> delete(ids, followerId));
+        following.computeIfPresent(followerId, (id, ids) -> delete(ids, targetUserId));
+    }
+
+    public int followerCount(long userId) {
+        return followers.getOrDefault(userId, EMPTY).length;
+    }
+
+    public int followingCount(long userId) {
+        return following.getOrDefault(userId, EMPTY).length;
+    }
+
+    public boolean isFollowing(long followerId, long targetUserId) {
+        return Arrays.binarySearch(following.getOrDefault(followerId, EMPTY), targetUserId) >= 0;
+    }
+
+    public boolean isMutual(long userId, long otherUserId) {
+        return isFollowing(userId, otherUserId) && isFollowing(otherUserId, userId);
+    }
+
+    public long[] followers(long userId) {
+        return followers.getOrDefault(userId, EMPTY);
+    }
+
+    public long[] following(long userId) {
+        return following.getOrDefault(userId, EMPTY);
+    }
+
+    /**
+     * Users who both follow and are followed by the given user, in id order.
+     */
+    public long[] mutuals(long userId) {
+        long[] in = followers(userId);
+        long[] out = following(userId);
+        long[] result = new long[Math.min(in.length, out.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < in.length && j < out.length) {
+            if (in[i] == out[j]) {
+                result[size++] = in[i];
+                i++;
+                j++;
+            } else if (in[i] < out[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertAt = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private static final class LongListBuilder {
+        private long[] values = new long[4];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
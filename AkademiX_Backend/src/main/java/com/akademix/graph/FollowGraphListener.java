@@ -0,0 +1,49 @@
+package com.akademix.graph;
+
+import com.akademix.event.FollowChangedEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies follows right after the commit on the instance that made them, and
+ * on every instance once the outbox delivers them; both are idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+public class FollowGraphListener implements OutboxHandler {
+
+    private final FollowGraphIndex followGraph;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        followGraph.load();
+    }
+
+    @Override
+    public void handle(OutboxEvent<?> event) {
+        if (event.getPayload() instanceof FollowChangedEvent follow) {
+            onFollowChanged(follow);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Home timelines are rebuilt from the graph, so it has to be current first
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (event.isFollowing()) {
+            followGraph.add(event.getFollowerId(), event.getTargetUserId());
+        } else {
+            followGraph.remove(event.getFollowerId(), event.getTargetUserId());
+        }
+    }
+}
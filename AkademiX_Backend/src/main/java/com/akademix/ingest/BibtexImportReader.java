@@ -0,0 +1,204 @@
+package com.akademix.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BibTeX entries, one publication per entry. {@code title} and
+ * {@code abstract} become the title and content; the author is taken from
+ * the non-standard {@code author_id} or {@code email} fields since BibTeX
+ * author lists only carry names. {@code @comment}, {@code @preamble} and
+ * {@code @string} blocks are skipped.
+ */
+class BibtexImportReader implements ImportReader {
+
+    private final BufferedReader in;
+    private long row;
+    private int pushedBack = -2;
+
+    BibtexImportReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            int c;
+            do {
+                c = read();
+                if (c < 0) {
+                    return null;
+                }
+            } while (c != '@');
+
+            StringBuilder type = new StringBuilder();
+            c = read();
+            while (c >= 0 && Character.isLetter(c)) {
+                type.append((char) c);
+                c = read();
+            }
+            c = skipWhitespace(c);
+            if (c != '{' && c != '(') {
+                continue;
+            }
+            char close = c == '{' ? '}' : ')';
+            String entryType = type.toString().toLowerCase(Locale.ROOT);
+            if (entryType.equals("comment") || entryType.equals("preamble") || entryType.equals("string")) {
+                readBalanced((char) c, close);
+                continue;
+            }
+
+            row++;
+            Map<String, String> fields = readFields(close);
+            String authorId = fields.get("author_id");
+            try {
+                return new ImportRecord(row,
+                        fields.get("title"),
+                        fields.get("abstract"),
+                        authorId == null || authorId.isBlank() ? null : Long.valueOf(authorId.trim()),
+                        fields.containsKey("email") ? fields.get("email") : fields.get("author_email"));
+            } catch (NumberFormatException e) {
+                throw new ImportRowException(row, "Invalid author id: " + authorId);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Map<String, String> readFields(char close) throws IOException {
+        // Citation key
+        int c = read();
+        while (c >= 0 && c != ',' && c != close) {
+            c = read();
+        }
+        Map<String, String> fields = new HashMap<>();
+        while (c == ',') {
+            c = skipWhitespace(read());
+            if (c == close) {
+                return fields;
+            }
+            StringBuilder name = new StringBuilder();
+            while (c >= 0 && (Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == ':')) {
+                name.append((char) c);
+                c = read();
+            }
+            c = skipWhitespace(c);
+            if (name.length() == 0 || c != '=') {
+                throw malformed(c);
+            }
+
+            StringBuilder value = new StringBuilder();
+            do {
+                c = skipWhitespace(read());
+                if (c == '{') {
+                    value.append(readBalanced('{', '}'));
+                } else if (c == '"') {
+                    value.append(readQuoted());
+                } else {
+                    while (c >= 0 && c != ',' && c != close && c != '#' && !Character.isWhitespace(c)) {
+                        value.append((char) c);
+                        c = read();
+                    }
+                    unread(c);
+                }
+                c = skipWhitespace(read());
+            } while (c == '#');
+            fields.put(name.toString().toLowerCase(Locale.ROOT), clean(value));
+        }
+        if (c != close) {
+            throw malformed(c);
+        }
+        return fields;
+    }
+
+    /**
+     * Text up to the matching close character; the opening one has been read.
+     */
+    private String readBalanced(char open, char close) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw malformed(c);
+            }
+            if (c == open) {
+                depth++;
+            } else if (c == close && --depth == 0) {
+                return text.toString();
+            }
+            text.append((char) c);
+        }
+    }
+
+    private String readQuoted() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int depth = 0;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw malformed(c);
+            }
+            if (c == '"' && depth == 0) {
+                return text.toString();
+            }
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            }
+            text.append((char) c);
+        }
+    }
+
+    private ImportRowException malformed(int c) {
+        return new ImportRowException(row, c < 0 ? "Unexpected end of input" : "Malformed BibTeX entry");
+    }
+
+    private static String clean(CharSequence value) {
+        StringBuilder text = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '{' || ch == '}') {
+                continue;
+            }
+            if (Character.isWhitespace(ch)) {
+                space = text.length() > 0;
+            } else {
+                if (space) {
+                    text.append(' ');
+                    space = false;
+                }
+                text.append(ch);
+            }
+        }
+        return text.toString();
+    }
+
+    private int skipWhitespace(int c) throws IOException {
+        while (c >= 0 && Character.isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
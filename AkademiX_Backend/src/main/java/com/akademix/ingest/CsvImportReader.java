@@ -0,0 +1,135 @@
+package com.akademix.ingest;
+
+import com.akademix.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Recognised columns are {@code title},
+ * {@code content} (or {@code abstract}), {@code author_id} and
+ * {@code author_email} (or {@code email}); others are ignored.
+ */
+class CsvImportReader implements ImportReader {
+
+    private final BufferedReader in;
+    private Map<String, Integer> columns;
+    private long row;
+
+    CsvImportReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        row++;
+        String authorId = field(fields, "authorid");
+        try {
+            return new ImportRecord(row,
+                    field(fields, "title"),
+                    field(fields, "content"),
+                    authorId == null || authorId.isBlank() ? null : Long.valueOf(authorId.trim()),
+                    field(fields, "authoremail"));
+        } catch (NumberFormatException e) {
+            throw new ImportRowException(row, "Invalid author id: " + authorId);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        columns = new HashMap<>();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+            switch (name) {
+                case "abstract":
+                    name = "content";
+                    break;
+                case "email":
+                    name = "authoremail";
+                    break;
+                default:
+                    break;
+            }
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("content")) {
+            throw new BadRequestException("CSV header must contain title and content columns");
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new ImportRowException(row + 1, "Unterminated quoted field");
+                }
+                if (c == '"') {
+                    in.mark(1);
+                    int following = in.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                in.mark(1);
+                if (in.read() != '\n') {
+                    in.reset();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.akademix.ingest;
+
+import com.akademix.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON,
+    BIBTEX;
+
+    /**
+     * Uses the explicit {@code format} parameter if given, otherwise the
+     * request content type.
+     */
+    public static ImportFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported import format: " + format);
+            }
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+            return NDJSON;
+        }
+        if (type.startsWith("application/x-bibtex") || type.startsWith("text/x-bibtex")) {
+            return BIBTEX;
+        }
+        throw new BadRequestException("Cannot determine import format from content type: " + contentType);
+    }
+
+    public ImportReader open(Reader reader) {
+        BufferedReader buffered = new BufferedReader(reader);
+        switch (this) {
+            case CSV:
+                return new CsvImportReader(buffered);
+            case NDJSON:
+                return new NdjsonImportReader(buffered);
+            default:
+                return new BibtexImportReader(buffered);
+        }
+    }
+}
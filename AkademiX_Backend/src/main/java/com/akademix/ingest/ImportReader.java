@@ -0,0 +1,17 @@
+package com.akademix.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull parser over an import body that holds at most one record in memory.
+ */
+public interface ImportReader extends Closeable {
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     *
+     * @throws ImportRowException if the next record is malformed
+     */
+    ImportRecord next() throws IOException;
+}
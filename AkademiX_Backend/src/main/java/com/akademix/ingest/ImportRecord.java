@@ -0,0 +1,16 @@
+package com.akademix.ingest;
+
+import lombok.Value;
+
+/**
+ * One publication read from an import body. {@code row} is the 1-based
+ * record number (the line number for NDJSON) used in error reports.
+ */
+@Value
+public class ImportRecord {
+    long row;
+    String title;
+    String content;
+    Long authorId;
+    String authorEmail;
+}
@@ -0,0 +1,18 @@
+package com.akademix.ingest;
+
+import lombok.Getter;
+
+/**
+ * A single malformed record. The reader stays usable and continues with the
+ * next record.
+ */
+@Getter
+public class ImportRowException extends RuntimeException {
+
+    private final long row;
+
+    public ImportRowException(long row, String message) {
+        super(message);
+        this.row = row;
+    }
+}
@@ -0,0 +1,66 @@
+package com.akademix.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line with {@code title}, {@code content} (or
+ * {@code abstract}), {@code authorId} and {@code authorEmail}. Rows are
+ * numbered by line so blank lines still count.
+ */
+class NdjsonImportReader implements ImportReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader in;
+    private long line;
+
+    NdjsonImportReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new ImportRowException(line, "Expected a JSON object");
+        }
+        JsonNode authorId = node.get("authorId");
+        if (authorId != null && !authorId.isNull() && !authorId.canConvertToLong()) {
+            throw new ImportRowException(line, "Invalid author id: " + authorId);
+        }
+        return new ImportRecord(line,
+                text(node, "title"),
+                node.has("content") ? text(node, "content") : text(node, "abstract"),
+                authorId == null || authorId.isNull() ? null : authorId.asLong(),
+                text(node, "authorEmail"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,70 @@
+package com.akademix.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * One JSON object per line with {@code email}, {@code name},
+ * {@code password}, {@code title}, {@code institution} and an optional
+ * {@code role}. Rows are numbered by line so blank lines still count.
+ */
+public class NdjsonUserReader implements Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader in;
+    private long line;
+
+    public NdjsonUserReader(Reader in) {
+        this.in = new BufferedReader(in);
+    }
+
+    /**
+     * The next record, or {@code null} at the end of the input.
+     *
+     * @throws ImportRowException if the next line is malformed
+     */
+    public UserRecord next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new ImportRowException(line, "Expected a JSON object");
+        }
+        return new UserRecord(line,
+                text(node, "email"),
+                text(node, "name"),
+                text(node, "password"),
+                text(node, "title"),
+                text(node, "institution"),
+                text(node, "role"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
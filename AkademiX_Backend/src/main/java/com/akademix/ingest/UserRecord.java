@@ -0,0 +1,18 @@
+package com.akademix.ingest;
+
+import lombok.Value;
+
+/**
+ * One account read from a provisioning body. {@code row} is the line number
+ * used in error reports.
+ */
+@Value
+public class UserRecord {
+    long row;
+    String email;
+    String name;
+    String password;
+    String title;
+    String institution;
+    String role;
+}
@@ -0,0 +1,114 @@
+package com.akademix.metrics;
+
+import com.akademix.config.MetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency, Hibernate statement count and loaded entity count per
+ * controller method, and logs requests that go over the configured query or
+ * entity budget together with their statement fingerprints.
+ * <p>
+ * Only work done on the request thread is counted; streamed async bodies are not.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EndpointMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsConfig metricsConfig;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            RequestQueryStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestQueryStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        RequestQueryStats stats = RequestQueryStats.current();
+        RequestQueryStats.end();
+        if (start == null || stats == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        Tags tags = Tags.of(
+                "controller", method.getBeanType().getSimpleName(),
+                "method", method.getMethod().getName());
+
+        Timer.builder("akademix.endpoint.latency")
+                .description("Controller method latency")
+                .tags(tags)
+                .tag("status", String.valueOf(status(response, ex)))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("akademix.endpoint.statements")
+                .description("Hibernate statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        DistributionSummary.builder("akademix.endpoint.entities")
+                .description("Entities loaded per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getEntityCount());
+
+        if (stats.getStatementCount() > metricsConfig.getQueryBudget()
+                || stats.getEntityCount() > metricsConfig.getEntityBudget()) {
+            meterRegistry.counter("akademix.endpoint.budget.exceeded", tags).increment();
+            log.warn("Query budget exceeded by {} {} ({}): {} statements (budget {}), {} entities (budget {}), top statements: {}",
+                    request.getMethod(), request.getRequestURI(), endpoint,
+                    stats.getStatementCount(), metricsConfig.getQueryBudget(),
+                    stats.getEntityCount(), metricsConfig.getEntityBudget(),
+                    stats.topFingerprints(metricsConfig.getReportedFingerprints()));
+        }
+    }
+
+    /**
+     * An exception passed in here was not resolved to a response, so the status
+     * set so far is not what the client gets.
+     */
+    private static int status(HttpServletResponse response, Exception ex) {
+        if (ex == null) {
+            return response.getStatus();
+        }
+        if (ex instanceof ErrorResponse errorResponse) {
+            return errorResponse.getStatusCode().value();
+        }
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(ex.getClass(), ResponseStatus.class);
+        return responseStatus != null
+                ? responseStatus.code().value()
+                : HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+}
@@ -0,0 +1,30 @@
+package com.akademix.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Session-factory wide Hibernate hooks that attribute every prepared statement
+ * and every loaded entity to the request on the current thread, if any.
+ */
+public class HibernateQueryTracker implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.akademix.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    private final EndpointMetricsInterceptor endpointMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointMetricsInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public static HibernatePropertiesCustomizer queryTrackingCustomizer() {
+        HibernateQueryTracker tracker = new HibernateQueryTracker();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, tracker);
+            properties.put(AvailableSettings.INTERCEPTOR, tracker);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.akademix.metrics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate activity of the request running on the current thread: statements
+ * grouped by fingerprint and the number of entities loaded.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int statementCount;
+    private int entityCount;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql) {
+        statementCount++;
+        statements.merge(fingerprint(sql), 1, Integer::sum);
+    }
+
+    void entityLoaded() {
+        entityCount++;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * The most repeated fingerprints first, formatted as {@code 12x select ...}.
+     */
+    List<String> topFingerprints(int limit) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Strips literals and collapses IN lists so the same query shape always
+     * yields the same fingerprint.
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+}
@@ -4,18 +4,27 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_publication_created_at_id", columnList = "publication_id, created_at, id"),
+    @Index(name = "idx_comments_publication_depth_created_at_id", columnList = "publication_id, depth, created_at, id"),
+    @Index(name = "idx_comments_root_path", columnList = "root_id, path")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
 
+    public static final int MAX_DEPTH = 8;
+    private static final int PATH_SEGMENT_LENGTH = 16;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,6 +40,23 @@ public class Comment {
     @JoinColumn(name = "publication_id", nullable = false)
     private Publication publication;
 
+    // Cascading removals delete comments in no particular order, so a reply may outlive its parent for a moment
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Comment parent;
+
+    // Top-level comment of the thread; null for top-level comments
+    @Column(name = "root_id")
+    private Long rootId;
+
+    // Ids from the thread root down to this reply as fixed-width hex, so sorting by path gives thread order
+    @Column(length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1))
+    private String path;
+
+    @Column(nullable = false)
+    private Integer depth = 0;
+
     @ManyToMany
     @JoinTable(
         name = "comment_likes",
@@ -39,12 +65,38 @@ public class Comment {
     )
     private Set<User> likes = new HashSet<>();
 
+    @Column(name = "likes_count", nullable = false, updatable = false)
+    private Integer likesCount = 0;
+
+    // Replies anywhere in the thread; only maintained on top-level comments
+    @Column(name = "replies_count", nullable = false, updatable = false)
+    private Integer repliesCount = 0;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public static String pathSegment(long id) {
+        String hex = Long.toHexString(id);
+        return "0".repeat(PATH_SEGMENT_LENGTH - hex.length()) + hex;
+    }
+
+    /**
+     * Id of the thread this comment belongs to.
+     */
+    public Long threadId() {
+        return rootId != null ? rootId : id;
+    }
+
+    /**
+     * Path prefix shared by this comment and all of its replies.
+     */
+    public String threadPath() {
+        return path != null ? path : pathSegment(id);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
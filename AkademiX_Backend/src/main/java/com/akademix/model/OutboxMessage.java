@@ -0,0 +1,34 @@
+package com.akademix.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed domain event. Only written and read over JDBC by OutboxService
+ * and OutboxDispatcher; rows are kept for {@code app.outbox.retention} so
+ * every instance can read them.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = {
+    @Index(name = "idx_outbox_messages_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
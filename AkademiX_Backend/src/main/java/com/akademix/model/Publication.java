@@ -4,20 +4,32 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "publications")
+@Table(name = "publications", indexes = {
+    @Index(name = "idx_publications_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_publications_author_created_at_id", columnList = "author_id, created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "publications")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Publication {
 
+    public static final int EXCERPT_LENGTH = 200;
+    private static final String ELLIPSIS = "...";
+
+    // Sequence ids let Hibernate batch inserts, which IDENTITY rules out
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "publications_seq")
+    @SequenceGenerator(name = "publications_seq", sequenceName = "publications_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,6 +38,10 @@ public class Publication {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Feeds read this instead of the full content; kept in step with it by setContent
+    @Column(length = EXCERPT_LENGTH + 3)
+    private String excerpt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -41,15 +57,38 @@ public class Publication {
     )
     private Set<User> likes = new HashSet<>();
 
+    @Column(name = "likes_count", nullable = false, updatable = false)
+    private Integer likesCount = 0;
+
+    @Column(name = "comments_count", nullable = false, updatable = false)
+    private Integer commentsCount = 0;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public void setContent(String content) {
+        this.content = content;
+        this.excerpt = excerptOf(content);
+    }
+
+    /**
+     * The first {@link #EXCERPT_LENGTH} characters of the content, with an
+     * ellipsis only when something was cut off.
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.codePointCount(0, content.length()) <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, content.offsetByCodePoints(0, EXCERPT_LENGTH)) + ELLIPSIS;
+    }
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Match the database's microsecond precision so in-memory cursors line up with stored rows
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     @PreUpdate
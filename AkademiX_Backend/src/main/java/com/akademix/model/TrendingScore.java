@@ -0,0 +1,30 @@
+package com.akademix.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint row of the trending engine: the decayed score of a publication
+ * as of {@code scoredAt}. Written in bulk by TrendingEngine over JDBC.
+ */
+@Entity
+@Table(name = "trending_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+
+    @Id
+    @Column(name = "publication_id")
+    private Long publicationId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
@@ -0,0 +1,25 @@
+package com.akademix.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Password hash of a user. Kept out of the users table so the User entity,
+ * which lives in the second-level cache, never carries credentials.
+ */
+@Entity
+@Table(name = "user_credentials")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCredentials {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private String password;
+}
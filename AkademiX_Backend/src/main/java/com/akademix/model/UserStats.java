@@ -0,0 +1,31 @@
+package com.akademix.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized profile counters of a user. Only written through
+ * UserStatsService, which applies batched deltas over JDBC.
+ */
+@Entity
+@Table(name = "user_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "publications_count", nullable = false, updatable = false)
+    private Integer publicationsCount = 0;
+
+    @Column(name = "followers_count", nullable = false, updatable = false)
+    private Integer followersCount = 0;
+
+    @Column(name = "following_count", nullable = false, updatable = false)
+    private Integer followingCount = 0;
+}
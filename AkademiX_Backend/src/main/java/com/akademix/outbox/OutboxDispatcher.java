@@ -0,0 +1,287 @@
+package com.akademix.outbox;
+
+import com.akademix.config.OutboxConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads committed events from the outbox table and runs every
+ * {@link OutboxHandler} of this instance on them.
+ * <p>
+ * The handlers keep per-process state (search index, trending scores, home
+ * timelines, push subscribers, resource versions), so events are broadcast:
+ * each instance reads the whole table with its own in-memory cursor instead
+ * of claiming rows, and rows are only purged after {@code app.outbox.retention}.
+ * The cursor starts at the newest event on startup, since everything older is
+ * already in the state the instance loads from the database.
+ * <p>
+ * Outbox ids are handed out before commit, so a lower id can become visible
+ * after a higher one. Ids skipped over are looked up again on every poll until
+ * they show up or {@code app.outbox.gap-timeout} passes and they are taken to
+ * be rolled back.
+ * <p>
+ * Delivery is tracked per handler: when one throws, only that handler gets
+ * the event again, with exponential backoff, up to
+ * {@code app.outbox.max-attempts} times. The dispatcher reads outside any
+ * transaction, so handlers only ever see events whose write has committed.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements MeterBinder, DisposableBean {
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM outbox_messages";
+    private static final String READ_SQL = "SELECT id, event_type, payload, created_at FROM outbox_messages "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String READ_IDS_SQL = "SELECT id, event_type, payload, created_at FROM outbox_messages "
+            + "WHERE id IN (%s) ORDER BY id";
+    private static final String PURGE_SQL = "DELETE FROM outbox_messages WHERE created_at < ?";
+    // A larger jump is not a commit race, e.g. a sequence cache lost on a database restart
+    private static final int MAX_TRACKED_GAP = 1000;
+    private static final int GAP_QUERY_SIZE = 500;
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final OutboxService outboxService;
+    private final OutboxConfig outboxConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<OutboxHandler> handlerProvider;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong backlogAgeMillis = new AtomicLong();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private Timer lag;
+
+    // Only used on the dispatcher thread once started
+    private List<OutboxHandler> handlers = Collections.emptyList();
+    private long cursor = -1;
+    private final Map<Long, Long> gaps = new TreeMap<>();
+    private final List<Delivery> retries = new ArrayList<>();
+    private long lastPurge;
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            OutboxConfig outboxConfig,
+                            JdbcTemplate jdbcTemplate,
+                            ObjectProvider<OutboxHandler> handlerProvider) {
+        this.outboxService = outboxService;
+        this.outboxConfig = outboxConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.handlerProvider = handlerProvider;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lag = Timer.builder("akademix.outbox.lag")
+                .description("Time from an event being recorded to this instance's handlers first running it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder("akademix.outbox.backlog.age", backlogAgeMillis, millis -> millis.get() / 1000.0)
+                .description("Age in seconds of the oldest event read by the last poll, 0 when it found none")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("akademix.outbox.dispatched", dispatched, LongAdder::sum)
+                .description("Events handed to this instance's handlers")
+                .register(registry);
+        FunctionCounter.builder("akademix.outbox.retried", retried, LongAdder::sum)
+                .description("Failed handler runs scheduled for another attempt")
+                .register(registry);
+        FunctionCounter.builder("akademix.outbox.failed", failed, LongAdder::sum)
+                .description("Handler runs given up on after the last attempt, and unreadable events")
+                .register(registry);
+    }
+
+    /**
+     * Fixes the starting point before the ApplicationReadyEvent listeners load
+     * their state, so an event racing the load is seen twice rather than never.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void init() {
+        if (cursor < 0) {
+            Long newest = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+            cursor = newest != null ? newest : 0;
+            handlers = handlerProvider.orderedStream().toList();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = outboxConfig.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            retryDue(now);
+            if (!gaps.isEmpty()) {
+                readGaps(now);
+            }
+            List<Message> batch;
+            do {
+                batch = jdbcTemplate.query(READ_SQL, this::message, cursor, outboxConfig.getBatchSize());
+                backlogAgeMillis.set(batch.isEmpty()
+                        ? 0 : Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+                for (Message message : batch) {
+                    trackGap(message.getId(), now);
+                    cursor = message.getId();
+                    deliver(message, now);
+                }
+            } while (batch.size() == outboxConfig.getBatchSize() && !scheduler.isShutdown());
+            if (now - lastPurge >= PURGE_INTERVAL_MILLIS) {
+                lastPurge = now;
+                jdbcTemplate.update(PURGE_SQL, LocalDateTime.now().minus(outboxConfig.getRetention()));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.error("Outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void trackGap(long id, long now) {
+        long missing = id - cursor - 1;
+        if (missing > MAX_TRACKED_GAP) {
+            log.warn("Outbox ids {} to {} skipped without waiting for them", cursor + 1, id - 1);
+            return;
+        }
+        for (long gap = cursor + 1; gap < id; gap++) {
+            gaps.put(gap, now);
+        }
+    }
+
+    private void readGaps(long now) {
+        long timeout = outboxConfig.getGapTimeout().toMillis();
+        gaps.values().removeIf(seen -> now - seen > timeout);
+        List<Long> ids = new ArrayList<>(gaps.keySet());
+        for (int from = 0; from < ids.size(); from += GAP_QUERY_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + GAP_QUERY_SIZE, ids.size()));
+            String sql = String.format(READ_IDS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            for (Message message : jdbcTemplate.query(sql, this::message, chunk.toArray())) {
+                gaps.remove(message.getId());
+                deliver(message, now);
+            }
+        }
+    }
+
+    private void deliver(Message message, long now) {
+        OutboxEvent<?> event;
+        try {
+            event = new OutboxEvent<>(message.getId(), message.getCreatedAt(),
+                    outboxService.deserialize(message.getEventType(), message.getPayload()));
+        } catch (Exception e) {
+            failed.increment();
+            log.error("Skipping unreadable outbox event {} ({})", message.getId(), message.getEventType(), e);
+            return;
+        }
+        for (OutboxHandler handler : handlers) {
+            run(new Delivery(event, handler), now);
+        }
+        dispatched.increment();
+        if (lag != null) {
+            lag.record(Duration.between(message.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    private void retryDue(long now) {
+        List<Delivery> due = new ArrayList<>();
+        for (Iterator<Delivery> it = retries.iterator(); it.hasNext(); ) {
+            Delivery delivery = it.next();
+            if (delivery.nextAttemptAt <= now) {
+                due.add(delivery);
+                it.remove();
+            }
+        }
+        due.forEach(delivery -> run(delivery, now));
+    }
+
+    private void run(Delivery delivery, long now) {
+        try {
+            delivery.handler.handle(delivery.event);
+        } catch (RuntimeException e) {
+            delivery.attempts++;
+            String handlerName = delivery.handler.getClass().getSimpleName();
+            if (delivery.attempts >= outboxConfig.getMaxAttempts()) {
+                failed.increment();
+                log.error("Giving up on outbox event {} in {} after {} attempts", delivery.event.getId(),
+                        handlerName, delivery.attempts, e);
+                return;
+            }
+            retried.increment();
+            log.warn("Outbox event {} failed in {} on attempt {}: {}", delivery.event.getId(), handlerName,
+                    delivery.attempts, e.toString());
+            delivery.nextAttemptAt = now + backoff(delivery.attempts).toMillis();
+            retries.add(delivery);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration max = outboxConfig.getMaxRetryBackoff();
+        Duration delay = outboxConfig.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(max) > 0 || delay.isNegative() ? max : delay;
+    }
+
+    private Message message(ResultSet rs, int rowNum) throws SQLException {
+        return new Message(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getObject("created_at", LocalDateTime.class));
+    }
+
+    @Value
+    private static class Message {
+        long id;
+        String eventType;
+        String payload;
+        LocalDateTime createdAt;
+    }
+
+    private static final class Delivery {
+        private final OutboxEvent<?> event;
+        private final OutboxHandler handler;
+        private int attempts;
+        private long nextAttemptAt;
+
+        private Delivery(OutboxEvent<?> event, OutboxHandler handler) {
+            this.event = event;
+            this.handler = handler;
+        }
+    }
+}
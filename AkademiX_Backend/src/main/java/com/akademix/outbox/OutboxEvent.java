@@ -0,0 +1,17 @@
+package com.akademix.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event read back from the outbox table, as handed to
+ * {@link OutboxHandler}s. The id is the outbox row id and orders events by
+ * when they were recorded.
+ */
+@Value
+public class OutboxEvent<E> {
+    long id;
+    LocalDateTime createdAt;
+    E payload;
+}
@@ -0,0 +1,20 @@
+package com.akademix.outbox;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Side effect of domain events, run by {@link OutboxDispatcher} on every
+ * instance after the event's transaction has committed. Each handler sees an
+ * event once per instance; only a handler that throws gets it again, up to
+ * {@code app.outbox.max-attempts} times. Handlers run in {@link #getOrder()}
+ * order.
+ */
+public interface OutboxHandler extends Ordered {
+
+    void handle(OutboxEvent<?> event);
+
+    @Override
+    default int getOrder() {
+        return 0;
+    }
+}
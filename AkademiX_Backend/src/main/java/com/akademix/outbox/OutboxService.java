@@ -0,0 +1,94 @@
+package com.akademix.outbox;
+
+import com.akademix.event.FollowChangedEvent;
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.event.PublicationSavedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records domain events in the outbox table as part of the caller's
+ * transaction, so their side effects happen if and only if the write commits.
+ * <p>
+ * The event is also published in-process as before, so listeners that keep
+ * this instance's caches coherent still run right after the commit. Every
+ * instance, this one included, then reads the row back through
+ * {@link OutboxDispatcher} and runs its {@link OutboxHandler}s.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_messages (event_type, payload, created_at) VALUES (?, ?, ?)";
+
+    // Only these types are ever instantiated from a stored row
+    private static final Map<String, Class<?>> EVENT_TYPES = Stream.of(
+                    PublicationSavedEvent.class,
+                    PublicationDeletedEvent.class,
+                    PublicationEngagementEvent.class,
+                    FollowChangedEvent.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Object event) {
+        publishAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            rows.add(new Object[]{typeOf(event), serialize(event), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    Object deserialize(String type, String payload) throws JsonProcessingException {
+        Class<?> eventType = EVENT_TYPES.get(type);
+        if (eventType == null) {
+            throw new IllegalArgumentException("Unknown outbox event type: " + type);
+        }
+        return objectMapper.readValue(payload, eventType);
+    }
+
+    private static String typeOf(Object event) {
+        String type = event.getClass().getSimpleName();
+        if (EVENT_TYPES.get(type) != event.getClass()) {
+            throw new IllegalArgumentException("Not an outbox event type: " + event.getClass().getName());
+        }
+        return type;
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox event is not serializable", e);
+        }
+    }
+}
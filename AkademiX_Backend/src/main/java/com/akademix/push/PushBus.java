@@ -0,0 +1,227 @@
+package com.akademix.push;
+
+import com.akademix.config.PushConfig;
+import com.akademix.exception.BadRequestException;
+import com.akademix.exception.PushBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process publish/subscribe bus behind the server-sent event stream.
+ * <p>
+ * Subscribers are indexed by topic, so publishing costs one map lookup plus
+ * one buffer append per subscriber of that topic. Clients whose buffer of
+ * {@code app.push.buffer-size} messages fills up are disconnected rather
+ * than buffered without bound, and every connection gets a heartbeat each
+ * {@code app.push.heartbeat-interval}.
+ * <p>
+ * A write to a client that stopped reading blocks its dispatcher thread until
+ * the container's socket timeout. A watchdog drops such a client once its write
+ * has taken longer than {@code app.push.send-timeout} and adds a dispatcher
+ * thread for as long as the write stays blocked, so the other clients keep
+ * being served.
+ */
+@Slf4j
+@Component
+public class PushBus implements MeterBinder, DisposableBean {
+
+    private final PushConfig pushConfig;
+    private final ObjectMapper objectMapper;
+    private final ScheduledThreadPoolExecutor dispatcher;
+    private final ScheduledThreadPoolExecutor watchdog;
+    private final Map<PushConnection, Long> writes = new ConcurrentHashMap<>();
+    private final Map<String, Set<PushConnection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<PushConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder slowConsumers = new LongAdder();
+    private final LongAdder stalledWrites = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PushBus(PushConfig pushConfig, ObjectMapper objectMapper) {
+        this.pushConfig = pushConfig;
+        this.objectMapper = objectMapper;
+        AtomicInteger sequence = new AtomicInteger();
+        this.dispatcher = new ScheduledThreadPoolExecutor(Math.max(1, pushConfig.getDispatcherThreads()), task -> {
+            Thread thread = new Thread(task, "push-dispatcher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = pushConfig.getHeartbeatInterval().toMillis();
+        this.dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        // Its own thread, since every dispatcher thread may be the one that is blocked
+        this.watchdog = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "push-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkMillis = Math.max(1, pushConfig.getSendTimeout().toMillis() / 4);
+        this.watchdog.scheduleWithFixedDelay(this::checkWrites, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("akademix.push.connections", openConnections, AtomicInteger::get)
+                .description("Open push connections")
+                .register(registry);
+        Gauge.builder("akademix.push.topics", subscribers, Map::size)
+                .description("Topics with at least one subscriber")
+                .register(registry);
+        FunctionCounter.builder("akademix.push.published", published, LongAdder::sum)
+                .description("Messages published to topics that had subscribers")
+                .register(registry);
+        FunctionCounter.builder("akademix.push.slow.consumers", slowConsumers, LongAdder::sum)
+                .description("Connections dropped because their buffer was full")
+                .register(registry);
+        FunctionCounter.builder("akademix.push.stalled.writes", stalledWrites, LongAdder::sum)
+                .description("Connections dropped because a write to them blocked past the send timeout")
+                .register(registry);
+        FunctionCounter.builder("akademix.push.rejected", rejected, LongAdder::sum)
+                .description("Connections refused because the connection limit was reached")
+                .register(registry);
+    }
+
+    public static String publicationTopic(Long publicationId) {
+        return "publication:" + publicationId;
+    }
+
+    public static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+
+    public SseEmitter subscribe(Collection<String> topics) {
+        if (topics.size() > pushConfig.getMaxTopics()) {
+            throw new BadRequestException("At most " + pushConfig.getMaxTopics() + " subscriptions per connection");
+        }
+        if (openConnections.incrementAndGet() > pushConfig.getMaxConnections()) {
+            openConnections.decrementAndGet();
+            rejected.increment();
+            throw new PushBusyException("Too many open push connections");
+        }
+        SseEmitter emitter = createEmitter();
+        PushConnection connection = new PushConnection(emitter, Set.copyOf(topics),
+                pushConfig.getBufferSize(), dispatcher, writes);
+        connections.add(connection);
+        for (String topic : connection.topics()) {
+            subscribers.compute(topic, (key, set) -> {
+                Set<PushConnection> members = set != null ? set : ConcurrentHashMap.newKeySet();
+                members.add(connection);
+                return members;
+            });
+        }
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+        // Commits the response headers right away instead of at the first event
+        deliver(connection, new PushMessage("ready", serialize(Map.of("topics", connection.topics()))));
+        return emitter;
+    }
+
+    public void publish(String topic, String event, Object payload) {
+        Set<PushConnection> members = subscribers.get(topic);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        published.increment();
+        PushMessage message = new PushMessage(event, serialize(payload));
+        for (PushConnection connection : members) {
+            deliver(connection, message);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+        connections.forEach(PushConnection::close);
+        // Lets drains that are already queued end their streams
+        dispatcher.shutdown();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(pushConfig.getConnectionTimeout().toMillis());
+    }
+
+    private void heartbeat() {
+        try {
+            for (PushConnection connection : connections) {
+                deliver(connection, PushConnection.HEARTBEAT);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.warn("Push heartbeat failed", e);
+        }
+    }
+
+    private void checkWrites() {
+        try {
+            long now = System.nanoTime();
+            long timeout = pushConfig.getSendTimeout().toNanos();
+            int blocked = 0;
+            for (Map.Entry<PushConnection, Long> write : writes.entrySet()) {
+                if (now - write.getValue() <= timeout) {
+                    continue;
+                }
+                blocked++;
+                PushConnection connection = write.getKey();
+                if (connection.close()) {
+                    stalledWrites.increment();
+                }
+                remove(connection);
+            }
+            int threads = Math.max(1, pushConfig.getDispatcherThreads())
+                    + Math.min(blocked, pushConfig.getMaxStalledWrites());
+            if (dispatcher.getCorePoolSize() != threads) {
+                dispatcher.setCorePoolSize(threads);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.warn("Push write check failed", e);
+        }
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Push payload is not serializable", e);
+        }
+    }
+
+    private void deliver(PushConnection connection, PushMessage message) {
+        if (!connection.offer(message)) {
+            slowConsumers.increment();
+            connection.close();
+            remove(connection);
+        }
+    }
+
+    private void remove(PushConnection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        openConnections.decrementAndGet();
+        for (String topic : connection.topics()) {
+            subscribers.computeIfPresent(topic, (key, members) -> {
+                members.remove(connection);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.akademix.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One open event stream. Messages wait in a bounded buffer that only exists
+ * while something is pending, and a dispatcher thread writes them out, so
+ * an idle connection holds no buffer and a slow client never blocks the
+ * publishing thread. Writes in progress are registered in {@code writes}
+ * with their start time, so the bus can tell a client that stopped reading.
+ */
+class PushConnection {
+
+    static final PushMessage HEARTBEAT = new PushMessage(null, null);
+
+    private final SseEmitter emitter;
+    private final Set<String> topics;
+    private final int bufferSize;
+    private final Executor dispatcher;
+    private final Map<PushConnection, Long> writes;
+
+    private ArrayDeque<PushMessage> buffer;
+    private boolean scheduled;
+    private boolean closed;
+
+    PushConnection(SseEmitter emitter, Set<String> topics, int bufferSize, Executor dispatcher,
+                   Map<PushConnection, Long> writes) {
+        this.emitter = emitter;
+        this.topics = topics;
+        this.bufferSize = bufferSize;
+        this.dispatcher = dispatcher;
+        this.writes = writes;
+    }
+
+    Set<String> topics() {
+        return topics;
+    }
+
+    /**
+     * Queues a message for this client.
+     *
+     * @return {@code false} if the buffer is full, i.e. the client is not keeping up
+     */
+    boolean offer(PushMessage message) {
+        synchronized (this) {
+            if (closed) {
+                return true;
+            }
+            if (buffer == null) {
+                buffer = new ArrayDeque<>(4);
+            } else if (buffer.size() >= bufferSize) {
+                return false;
+            }
+            buffer.add(message);
+            if (scheduled) {
+                return true;
+            }
+            scheduled = true;
+        }
+        try {
+            dispatcher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            synchronized (this) {
+                scheduled = false;
+            }
+            close();
+        }
+        return true;
+    }
+
+    /**
+     * Stops delivery and ends the stream. A write in progress keeps the emitter
+     * locked until it returns, so the stream is then ended by the dispatcher
+     * thread instead of blocking the caller.
+     *
+     * @return {@code false} if the connection was already closed
+     */
+    boolean close() {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer = null;
+            if (scheduled) {
+                return true;
+            }
+        }
+        emitter.complete();
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            PushMessage message;
+            synchronized (this) {
+                message = buffer == null ? null : buffer.poll();
+                if (message == null) {
+                    buffer = null;
+                    scheduled = false;
+                    if (!closed) {
+                        return;
+                    }
+                }
+            }
+            if (message == null) {
+                // Closed while this thread was writing
+                emitter.complete();
+                return;
+            }
+            writes.put(this, System.nanoTime());
+            try {
+                if (message == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event().name(message.getEvent()).data(message.getData()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports the failed write to the emitter's error callback
+                synchronized (this) {
+                    closed = true;
+                    buffer = null;
+                    scheduled = false;
+                }
+                return;
+            } finally {
+                writes.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.akademix.push;
+
+import com.akademix.event.FollowChangedEvent;
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Forwards committed domain events to this instance's push subscribers. Every
+ * instance reads every event from the outbox, so a client gets it whichever
+ * instance it is connected to. Likes and comments go to the publication's
+ * topic, follows to the followed user's topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class PushListener implements OutboxHandler {
+
+    private final PushBus pushBus;
+
+    @Override
+    public void handle(OutboxEvent<?> event) {
+        if (event.getPayload() instanceof PublicationEngagementEvent engagement) {
+            String name = engagement.getType() == PublicationEngagementEvent.Type.LIKE ? "like" : "comment";
+            pushBus.publish(PushBus.publicationTopic(engagement.getPublicationId()), name,
+                    Map.of("publicationId", engagement.getPublicationId(), "delta", engagement.getDelta()));
+        } else if (event.getPayload() instanceof PublicationDeletedEvent deleted) {
+            pushBus.publish(PushBus.publicationTopic(deleted.getPublicationId()), "deleted",
+                    Map.of("publicationId", deleted.getPublicationId()));
+        } else if (event.getPayload() instanceof FollowChangedEvent follow) {
+            pushBus.publish(PushBus.userTopic(follow.getTargetUserId()), "follow",
+                    Map.of("followerId", follow.getFollowerId(), "following", follow.isFollowing()));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.akademix.push;
+
+import lombok.Value;
+
+/**
+ * One server-sent event. The payload is serialized once when published and
+ * the same string is shared by every subscriber.
+ */
+@Value
+public class PushMessage {
+    String event;
+    String data;
+}
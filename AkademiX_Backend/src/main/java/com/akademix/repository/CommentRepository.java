@@ -1,19 +1,99 @@
 package com.akademix.repository;
 
 import com.akademix.model.Comment;
+import com.akademix.repository.projection.CommentExport;
+import com.akademix.repository.projection.CommentNode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Page<Comment> findByPublicationId(Long publicationId, Pageable pageable);
+    String NODE_SELECT = "SELECT c.id AS id, c.content AS content, a.id AS authorId, a.name AS authorName, " +
+            "c.publication.id AS publicationId, c.parent.id AS parentId, c.rootId AS rootId, c.depth AS depth, " +
+            "c.path AS path, c.createdAt AS createdAt, c.updatedAt AS updatedAt, c.likesCount AS likesCount, " +
+            "c.repliesCount AS repliesCount " +
+            "FROM Comment c JOIN c.author a";
+
+    // A page of top-level comments plus the first ?3 replies of each thread in path order, in one round trip.
+    // The roots are picked by keyset and LIMIT first, so only the replies of those roots are numbered.
+    // The roots query goes in twice, between THREAD_PAGE, THREAD_REPLIES and THREAD_END, since H2 does not
+    // take parameters inside a WITH clause.
+    String FIRST_ROOTS = "SELECT t.id FROM comments t WHERE t.publication_id = ?1 AND t.depth = 0 " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT ?2";
+    String ROOTS_BEFORE = "SELECT t.id FROM comments t WHERE t.publication_id = ?1 AND t.depth = 0 " +
+            "AND (t.created_at < ?4 OR (t.created_at = ?4 AND t.id < ?5)) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT ?2";
+    String THREAD_PAGE = "SELECT n.id AS id, n.content AS content, n.author_id AS authorId, a.name AS authorName, " +
+            "n.publication_id AS publicationId, n.parent_id AS parentId, n.root_id AS rootId, n.depth AS depth, " +
+            "n.path AS path, n.created_at AS createdAt, n.updated_at AS updatedAt, n.likes_count AS likesCount, " +
+            "n.replies_count AS repliesCount " +
+            "FROM (SELECT roots.id FROM (";
+    String THREAD_REPLIES = ") roots UNION ALL SELECT replies.id FROM (" +
+            "SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.root_id ORDER BY c.path) AS position FROM (";
+    String THREAD_END = ") roots JOIN comments c ON c.root_id = roots.id) replies WHERE replies.position <= ?3) page " +
+            "JOIN comments n ON n.id = page.id " +
+            "JOIN users a ON a.id = n.author_id";
+
+    @Query(value = NODE_SELECT + " WHERE c.publication.id = ?1 AND c.depth = 0",
+            countQuery = "SELECT COUNT(c) FROM Comment c WHERE c.publication.id = ?1 AND c.depth = 0")
+    Page<CommentNode> findRootsByPublicationId(Long publicationId, Pageable pageable);
     
     Page<Comment> findByAuthorId(Long authorId, Pageable pageable);
     
     @Query("SELECT COUNT(l) FROM Comment c JOIN c.likes l WHERE c.id = ?1")
     Integer countLikesByCommentId(Long commentId);
-} 
\ No newline at end of file
+    
+    @Query(value = THREAD_PAGE + FIRST_ROOTS + THREAD_REPLIES + FIRST_ROOTS + THREAD_END, nativeQuery = true)
+    List<CommentNode> findThreadPage(Long publicationId, int roots, int replies);
+    
+    @Query(value = THREAD_PAGE + ROOTS_BEFORE + THREAD_REPLIES + ROOTS_BEFORE + THREAD_END, nativeQuery = true)
+    List<CommentNode> findThreadPageBefore(Long publicationId, int roots, int replies, LocalDateTime createdAt,
+                                           Long id);
+    
+    @Query(NODE_SELECT + " WHERE c.rootId = ?1 AND c.path LIKE CONCAT(?2, '%') AND c.path > ?3 ORDER BY c.path")
+    Slice<CommentNode> findRepliesAfter(Long rootId, String pathPrefix, String afterPath, Pageable pageable);
+    
+    @Query("SELECT c.id FROM Comment c WHERE c.rootId = ?1 AND c.path LIKE CONCAT(?2, '%') AND c.id <> ?3")
+    List<Long> findReplyIds(Long rootId, String pathPrefix, Long commentId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "DELETE FROM comment_likes WHERE comment_id IN ?1", nativeQuery = true)
+    int deleteLikesByCommentIdIn(Collection<Long> commentIds);
+    
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN ?1")
+    int deleteByIdIn(Collection<Long> ids);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "INSERT INTO comment_likes (comment_id, user_id) VALUES (?1, ?2) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertLike(Long commentId, Long userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comment_likes"))
+    @Query(value = "DELETE FROM comment_likes WHERE comment_id = ?1 AND user_id = ?2",
+           nativeQuery = true)
+    int deleteLike(Long commentId, Long userId);
+    
+    // Must be consumed inside a transaction so the driver can use a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = PublicationRepository.EXPORT_FETCH_SIZE))
+    @Query(NODE_SELECT + " ORDER BY c.id")
+    Stream<CommentExport> streamAllForExport();
+}
@@ -1,39 +1,103 @@
 package com.akademix.repository;
 
 import com.akademix.model.Publication;
-import com.akademix.model.User;
+import com.akademix.repository.projection.PublicationExport;
+import com.akademix.repository.projection.PublicationSummary;
+import com.akademix.repository.projection.SearchDocument;
+import com.akademix.repository.projection.TimelineEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PublicationRepository extends JpaRepository<Publication, Long> {
-    List<Publication> findByAuthorOrderByCreatedAtDesc(User author);
-    List<Publication> findByTitleContainingOrSummaryContainingOrKeywordsContaining(
-        String title, String summary, String keyword);
 
-    Page<Publication> findByAuthorId(Long authorId, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.title AS title, p.excerpt AS excerpt, " +
+            "a.id AS authorId, a.name AS authorName, p.createdAt AS createdAt, " +
+            "p.likesCount AS likesCount, p.commentsCount AS commentsCount " +
+            "FROM Publication p JOIN p.author a";
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(p) FROM Publication p")
+    Page<PublicationSummary> findFeed(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + " WHERE a.id = ?1",
+           countQuery = "SELECT COUNT(p) FROM Publication p WHERE p.author.id = ?1")
+    Page<PublicationSummary> findFeedByAuthorId(Long authorId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PublicationSummary> findFeedSlice(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE p.createdAt < ?1 OR (p.createdAt = ?1 AND p.id < ?2) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PublicationSummary> findFeedSliceBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE a.id = ?1 ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PublicationSummary> findFeedSliceByAuthorId(Long authorId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + " WHERE a.id = ?1 AND (p.createdAt < ?2 OR (p.createdAt = ?2 AND p.id < ?3)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PublicationSummary> findFeedSliceByAuthorIdBefore(Long authorId, LocalDateTime createdAt, Long id,
+                                                            Pageable pageable);
     
-    @Query("SELECT p FROM Publication p ORDER BY p.createdAt DESC")
-    Page<Publication> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Publication p " +
+           "WHERE p.author.id IN ?1 ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findTimelineEntries(Collection<Long> authorIds, Pageable pageable);
     
-    @Query("SELECT p FROM Publication p WHERE p.title LIKE %?1% OR p.content LIKE %?1%")
-    List<Publication> searchPublications(String keyword);
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Publication p " +
+           "WHERE p.author.id IN ?1 AND (p.createdAt < ?2 OR (p.createdAt = ?2 AND p.id < ?3)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findTimelineEntriesBefore(Collection<Long> authorIds, LocalDateTime createdAt, Long id,
+                                                  Pageable pageable);
     
-    @Query("SELECT COUNT(l) FROM Publication p JOIN p.likes l WHERE p.id = ?1")
-    Integer countLikesByPublicationId(Long publicationId);
+    @Query(SUMMARY_SELECT + " WHERE p.id IN ?1")
+    List<PublicationSummary> findSummariesByIdIn(Collection<Long> ids);
     
-    @Query("SELECT COUNT(c) FROM Comment c WHERE c.publication.id = ?1")
-    Integer countCommentsByPublicationId(Long publicationId);
+    @Query("SELECT p.author.id FROM Publication p WHERE p.id = ?1")
+    Optional<Long> findAuthorIdById(Long id);
     
-    @Query(value = "SELECT p.* FROM publications p " +
-                  "JOIN publication_likes l ON p.id = l.publication_id " +
-                  "GROUP BY p.id " +
-                  "ORDER BY COUNT(l.user_id) DESC", 
+    @Query("SELECT DISTINCT p.author.id FROM Publication p WHERE p.id IN ?1")
+    List<Long> findAuthorIdsByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT p.id AS id, p.title AS title, p.content AS content FROM Publication p WHERE p.id IN ?1")
+    List<SearchDocument> findSearchDocumentsByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT p.id AS id, p.title AS title, p.content AS content FROM Publication p " +
+           "WHERE p.id > ?1 ORDER BY p.id")
+    List<SearchDocument> findSearchDocumentsAfter(Long id, Pageable pageable);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "publication_likes"))
+    @Query(value = "INSERT INTO publication_likes (publication_id, user_id) VALUES (?1, ?2) " +
+                   "ON CONFLICT DO NOTHING",
            nativeQuery = true)
-    Page<Publication> findMostLikedPublications(Pageable pageable);
-} 
\ No newline at end of file
+    int insertLike(Long publicationId, Long userId);
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "publication_likes"))
+    @Query(value = "DELETE FROM publication_likes WHERE publication_id = ?1 AND user_id = ?2",
+           nativeQuery = true)
+    int deleteLike(Long publicationId, Long userId);
+    
+    // Must be consumed inside a transaction so the driver can use a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT p.id AS id, p.title AS title, p.content AS content, a.id AS authorId, a.name AS authorName, " +
+           "p.createdAt AS createdAt, p.updatedAt AS updatedAt, p.likesCount AS likesCount, " +
+           "p.commentsCount AS commentsCount FROM Publication p JOIN p.author a ORDER BY p.id")
+    Stream<PublicationExport> streamAllForExport();
+}
@@ -0,0 +1,26 @@
+package com.akademix.repository;
+
+import com.akademix.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT r.userId FROM RefreshToken r WHERE r.tokenHash = ?1 AND r.expiresAt > ?2")
+    Optional<Long> findUserIdByTokenHash(String tokenHash, LocalDateTime now);
+
+    // Deleting is what claims the token, so two concurrent exchanges cannot both succeed
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = ?1")
+    int deleteByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= ?1")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.akademix.repository;
+
+import com.akademix.model.UserCredentials;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserCredentialsRepository extends JpaRepository<UserCredentials, Long> {
+
+    @Query("SELECT c.password FROM UserCredentials c WHERE c.userId = ?1")
+    Optional<String> findPasswordByUserId(Long userId);
+}
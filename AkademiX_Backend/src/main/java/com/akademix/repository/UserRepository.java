@@ -1,29 +1,54 @@
 package com.akademix.repository;
 
+import com.akademix.dto.UserSummaryDTO;
 import com.akademix.model.User;
+import com.akademix.repository.projection.UserIdentity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     Boolean existsByEmail(String email);
     
+    @Query("SELECT u.id FROM User u WHERE u.email = ?1")
+    Optional<Long> findIdByEmail(String email);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN ?1")
+    List<String> findEmailsByEmailIn(Collection<String> emails);
+    
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.email IN ?1")
+    List<UserIdentity> findIdentitiesByEmailIn(Collection<String> emails);
+    
     @Query("SELECT u FROM User u WHERE u.name LIKE %?1% OR u.email LIKE %?1%")
     List<User> searchUsers(String keyword);
     
-    @Query("SELECT COUNT(p) FROM Publication p WHERE p.author.id = ?1")
-    Integer countPublicationsByUserId(Long userId);
+    @Query("SELECT new com.akademix.dto.UserSummaryDTO(u.id, u.name, u.title, u.institution, u.profileImage) " +
+           "FROM User u WHERE u.id IN ?1")
+    List<UserSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
     
-    @Query("SELECT COUNT(f) FROM User u JOIN u.followers f WHERE u.id = ?1")
-    Integer countFollowersByUserId(Long userId);
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_followers"))
+    @Query(value = "INSERT INTO user_followers (user_id, follower_id) VALUES (?1, ?2) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertFollower(Long userId, Long followerId);
     
-    @Query("SELECT COUNT(f) FROM User u JOIN u.following f WHERE u.id = ?1")
-    Integer countFollowingByUserId(Long userId);
-} 
\ No newline at end of file
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_followers"))
+    @Query(value = "DELETE FROM user_followers WHERE user_id = ?1 AND follower_id = ?2",
+           nativeQuery = true)
+    int deleteFollower(Long userId, Long followerId);
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Full comment row for exports, including its place in the reply thread, read
+ * without loading the entity so the persistence context stays empty while streaming.
+ */
+public interface CommentExport {
+    Long getId();
+    String getContent();
+    Long getAuthorId();
+    String getAuthorName();
+    Long getPublicationId();
+    Long getParentId();
+    Long getRootId();
+    Integer getDepth();
+    String getPath();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getLikesCount();
+    Integer getRepliesCount();
+}
@@ -0,0 +1,23 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment row with its position in a reply thread, read without loading the
+ * Comment entity.
+ */
+public interface CommentNode {
+    Long getId();
+    String getContent();
+    Long getAuthorId();
+    String getAuthorName();
+    Long getPublicationId();
+    Long getParentId();
+    Long getRootId();
+    Integer getDepth();
+    String getPath();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getLikesCount();
+    Integer getRepliesCount();
+}
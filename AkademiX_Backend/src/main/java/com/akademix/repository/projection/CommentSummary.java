@@ -0,0 +1,17 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment row with its author name, read without loading the Comment entity.
+ */
+public interface CommentSummary {
+    Long getId();
+    String getContent();
+    Long getAuthorId();
+    String getAuthorName();
+    Long getPublicationId();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getLikesCount();
+}
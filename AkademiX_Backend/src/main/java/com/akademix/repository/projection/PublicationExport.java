@@ -0,0 +1,19 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Full publication row for exports, read without loading the entity so the
+ * persistence context stays empty while streaming.
+ */
+public interface PublicationExport {
+    Long getId();
+    String getTitle();
+    String getContent();
+    Long getAuthorId();
+    String getAuthorName();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getLikesCount();
+    Integer getCommentsCount();
+}
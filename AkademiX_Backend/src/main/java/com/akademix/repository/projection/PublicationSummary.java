@@ -0,0 +1,18 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feed row read straight from the publications/users join, without loading
+ * the Publication entity or its collections.
+ */
+public interface PublicationSummary {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    Long getAuthorId();
+    String getAuthorName();
+    LocalDateTime getCreatedAt();
+    Integer getLikesCount();
+    Integer getCommentsCount();
+}
@@ -0,0 +1,10 @@
+package com.akademix.repository.projection;
+
+/**
+ * Text fields fed to the search index and to snippet highlighting.
+ */
+public interface SearchDocument {
+    Long getId();
+    String getTitle();
+    String getContent();
+}
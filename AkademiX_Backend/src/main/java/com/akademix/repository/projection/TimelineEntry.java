@@ -0,0 +1,11 @@
+package com.akademix.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a publication in a home timeline.
+ */
+public interface TimelineEntry {
+    Long getId();
+    LocalDateTime getCreatedAt();
+}
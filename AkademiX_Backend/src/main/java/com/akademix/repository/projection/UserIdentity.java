@@ -0,0 +1,9 @@
+package com.akademix.repository.projection;
+
+/**
+ * Id of a user together with the email it was looked up by.
+ */
+public interface UserIdentity {
+    Long getId();
+    String getEmail();
+}
@@ -0,0 +1,222 @@
+package com.akademix.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index held on the heap and scored with BM25.
+ * <p>
+ * Postings are append-only: re-indexing or removing a document only drops its
+ * entry from {@code documents}, and postings whose generation no longer matches
+ * are skipped at query time. Once stale postings outnumber live ones the whole
+ * dictionary is compacted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPublicationSearchEngine implements PublicationSearchEngine {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    private int generation;
+    private long livePostings;
+    private long stalePostings;
+
+    @Override
+    public void index(Long publicationId, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        Tokenizer.tokenize(content).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        String[] terms = frequencies.keySet().toArray(new String[0]);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(publicationId);
+            int docGeneration = ++generation;
+            for (String term : terms) {
+                dictionary.computeIfAbsent(term, t -> new Postings())
+                        .add(publicationId, frequencies.get(term), docGeneration);
+            }
+            documents.put(publicationId, new Document(docGeneration, length, terms));
+            totalLength += length;
+            livePostings += terms.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long publicationId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(publicationId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchResults search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchResults(Collections.emptyList(), 0, terms);
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new SearchResults(Collections.emptyList(), 0, terms);
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                // The last term is still being typed, so match it as a prefix
+                Collection<Postings> matches = t == terms.size() - 1
+                        ? dictionary.subMap(term, term + Character.MAX_VALUE).values()
+                        : singleton(dictionary.get(term));
+                for (Postings postings : matches) {
+                    score(postings, documentCount, averageLength, scores);
+                }
+            }
+
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHit::getScore));
+            int wanted = offset + limit;
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                if (top.size() < wanted) {
+                    top.add(new SearchHit(entry.getKey(), entry.getValue()));
+                } else if (entry.getValue() > top.peek().getScore()) {
+                    top.poll();
+                    top.add(new SearchHit(entry.getKey(), entry.getValue()));
+                }
+            }
+            List<SearchHit> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(SearchHit::getScore).reversed());
+            List<SearchHit> page = offset >= ranked.size()
+                    ? Collections.emptyList()
+                    : ranked.subList(offset, ranked.size());
+            return new SearchResults(new ArrayList<>(page), scores.size(), terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Postings postings, int documentCount, double averageLength, Map<Long, Double> scores) {
+        double idf = Math.log(1 + (documentCount - postings.liveDocuments + 0.5) / (postings.liveDocuments + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            Document document = documents.get(postings.documentIds[i]);
+            if (document == null || document.generation != postings.generations[i]) {
+                continue;
+            }
+            int frequency = postings.frequencies[i];
+            double normalized = frequency * (K1 + 1)
+                    / (frequency + K1 * (1 - B + B * document.length / averageLength));
+            scores.merge(postings.documentIds[i], idf * normalized, Double::sum);
+        }
+    }
+
+    private void removeLocked(Long publicationId) {
+        Document document = documents.remove(publicationId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Postings postings = dictionary.get(term);
+            if (postings != null) {
+                postings.liveDocuments--;
+            }
+        }
+        livePostings -= document.terms.length;
+        stalePostings += document.terms.length;
+        if (stalePostings > livePostings) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        Iterator<Postings> iterator = dictionary.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.retainLive(documents);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+        stalePostings = 0;
+    }
+
+    private static Collection<Postings> singleton(Postings postings) {
+        return postings == null ? Collections.emptyList() : Collections.singletonList(postings);
+    }
+
+    private static final class Document {
+        private final int generation;
+        private final int length;
+        private final String[] terms;
+
+        private Document(int generation, int length, String[] terms) {
+            this.generation = generation;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    private static final class Postings {
+        private long[] documentIds = new long[4];
+        private int[] frequencies = new int[4];
+        private int[] generations = new int[4];
+        private int size;
+        private int liveDocuments;
+
+        private void add(long documentId, int frequency, int generation) {
+            if (size == documentIds.length) {
+                int capacity = size * 2;
+                documentIds = Arrays.copyOf(documentIds, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                generations = Arrays.copyOf(generations, capacity);
+            }
+            documentIds[size] = documentId;
+            frequencies[size] = frequency;
+            generations[size] = generation;
+            size++;
+            liveDocuments++;
+        }
+
+        private void retainLive(Map<Long, Document> documents) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                Document document = documents.get(documentIds[i]);
+                if (document != null && document.generation == generations[i]) {
+                    documentIds[kept] = documentIds[i];
+                    frequencies[kept] = frequencies[i];
+                    generations[kept] = generations[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.akademix.search;
+
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationSavedEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import com.akademix.repository.PublicationRepository;
+import com.akademix.repository.projection.SearchDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublicationIndexListener implements OutboxHandler {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PublicationSearchEngine searchEngine;
+    private final PublicationRepository publicationRepository;
+
+    // Holds the monitor for the whole rebuild so outbox events can't be overwritten by an older batch
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long lastId = 0;
+        int indexed = 0;
+        List<SearchDocument> batch;
+        do {
+            batch = publicationRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (SearchDocument document : batch) {
+                searchEngine.index(document.getId(), document.getTitle(), document.getContent());
+                lastId = document.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Search index built with {} publications", indexed);
+    }
+
+    @Override
+    public synchronized void handle(OutboxEvent<?> event) {
+        if (event.getPayload() instanceof PublicationSavedEvent saved) {
+            searchEngine.index(saved.getPublicationId(), saved.getTitle(), saved.getContent());
+        } else if (event.getPayload() instanceof PublicationDeletedEvent deleted) {
+            searchEngine.remove(deleted.getPublicationId());
+        }
+    }
+}
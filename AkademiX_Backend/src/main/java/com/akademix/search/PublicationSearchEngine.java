@@ -0,0 +1,14 @@
+package com.akademix.search;
+
+/**
+ * Ranked full-text search over publication titles and content.
+ * Implementations are kept current through {@link PublicationIndexListener}.
+ */
+public interface PublicationSearchEngine {
+
+    void index(Long publicationId, String title, String content);
+
+    void remove(Long publicationId);
+
+    SearchResults search(String query, int offset, int limit);
+}
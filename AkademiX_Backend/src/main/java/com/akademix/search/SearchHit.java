@@ -0,0 +1,9 @@
+package com.akademix.search;
+
+import lombok.Value;
+
+@Value
+public class SearchHit {
+    Long publicationId;
+    double score;
+}
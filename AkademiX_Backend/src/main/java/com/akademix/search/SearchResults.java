@@ -0,0 +1,12 @@
+package com.akademix.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchResults {
+    List<SearchHit> hits;
+    long total;
+    List<String> terms;
+}
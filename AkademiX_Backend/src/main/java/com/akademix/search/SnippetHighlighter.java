@@ -0,0 +1,89 @@
+package com.akademix.search;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cuts a short window of text around the first query match and wraps the
+ * matched words in &lt;em&gt; tags. The last query term matches as a prefix,
+ * mirroring how the index expands it.
+ * <p>
+ * The result is meant to be rendered as HTML, so everything taken from the
+ * text is escaped and the &lt;em&gt; tags are the only markup in it.
+ */
+public final class SnippetHighlighter {
+
+    private static final int WINDOW = 200;
+
+    private SnippetHighlighter() {
+    }
+
+    public static String highlight(String text, List<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        int firstMatch = -1;
+        int i = 0;
+        while (i < text.length() && firstMatch < 0) {
+            int end = wordEnd(text, i);
+            if (end > i && matches(text.substring(i, end), terms)) {
+                firstMatch = i;
+            }
+            i = Math.max(end, i + 1);
+        }
+
+        int start = firstMatch < 0 ? 0 : Math.max(0, firstMatch - WINDOW / 4);
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        int stop = Math.min(text.length(), start + WINDOW);
+        while (stop < text.length() && Character.isLetterOrDigit(text.charAt(stop))) {
+            stop++;
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append("...");
+        }
+        i = start;
+        while (i < stop) {
+            int end = wordEnd(text, i);
+            if (end > i) {
+                String word = text.substring(i, end);
+                if (matches(word, terms)) {
+                    snippet.append("<em>").append(HtmlUtils.htmlEscape(word)).append("</em>");
+                } else {
+                    snippet.append(HtmlUtils.htmlEscape(word));
+                }
+                i = end;
+            } else {
+                snippet.append(HtmlUtils.htmlEscape(String.valueOf(text.charAt(i++))));
+            }
+        }
+        if (stop < text.length()) {
+            snippet.append("...");
+        }
+        return snippet.toString();
+    }
+
+    private static int wordEnd(String text, int from) {
+        int end = from;
+        while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean matches(String word, List<String> terms) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            if (lower.equals(term) || (t == terms.size() - 1 && lower.startsWith(term))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
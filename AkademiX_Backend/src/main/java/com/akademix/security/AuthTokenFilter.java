@@ -1,5 +1,6 @@
 package com.akademix.security;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
@@ -24,6 +25,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -32,10 +34,8 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwt != null ? resolveUser(jwt) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -49,6 +49,26 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolveUser(String jwt) {
+        UserDetailsImpl cached = verifiedTokenCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtUtils.parseClaims(jwt);
+        if (claims == null) {
+            return null;
+        }
+        // Tokens issued before the id/roles claims were added still need a lookup
+        if (claims.get(JwtUtils.CLAIM_USER_ID) == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(claims);
+        verifiedTokenCache.put(jwt, userDetails, claims.getExpiration());
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
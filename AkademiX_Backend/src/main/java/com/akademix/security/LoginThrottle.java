@@ -0,0 +1,74 @@
+package com.akademix.security;
+
+import com.akademix.config.LoginConfig;
+import com.akademix.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token-bucket limits on login attempts per account and per client IP, checked
+ * before any password is hashed. Idle buckets are dropped once they would be
+ * full again anyway.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LoginConfig loginConfig;
+    private final Cache<String, TokenBucket> accounts;
+    private final Cache<String, TokenBucket> addresses;
+
+    public LoginThrottle(LoginConfig loginConfig) {
+        this.loginConfig = loginConfig;
+        this.accounts = buckets(loginConfig.getAccountCapacity(), loginConfig.getAccountRefill());
+        this.addresses = buckets(loginConfig.getIpCapacity(), loginConfig.getIpRefill());
+    }
+
+    public void acquire(String email, String address) {
+        TokenBucket addressBucket = addresses.get(address,
+                key -> new TokenBucket(loginConfig.getIpCapacity(), loginConfig.getIpRefill()));
+        if (!addressBucket.tryConsume()) {
+            throw new TooManyRequestsException("Too many login attempts from this address, try again later");
+        }
+        TokenBucket accountBucket = accounts.get(email.toLowerCase(Locale.ROOT),
+                key -> new TokenBucket(loginConfig.getAccountCapacity(), loginConfig.getAccountRefill()));
+        if (!accountBucket.tryConsume()) {
+            throw new TooManyRequestsException("Too many login attempts for this account, try again later");
+        }
+    }
+
+    private Cache<String, TokenBucket> buckets(int capacity, Duration refill) {
+        return Caffeine.newBuilder()
+                .maximumSize(loginConfig.getTrackedClients())
+                .expireAfterAccess(refill.multipliedBy(capacity))
+                .build();
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, Duration refill) {
+            this.capacity = capacity;
+            this.refillNanos = Math.max(1, refill.toNanos());
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - refilledAt) / refillNanos);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
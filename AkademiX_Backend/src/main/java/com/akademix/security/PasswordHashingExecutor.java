@@ -0,0 +1,115 @@
+package com.akademix.security;
+
+import com.akademix.config.LoginConfig;
+import com.akademix.exception.LoginBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a small fixed pool so a burst of logins can only
+ * occupy that many cores. Callers wait a bounded time in a bounded queue and
+ * are turned away with 503 otherwise.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder, DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+
+    private volatile Timer queueTime;
+    private volatile Counter rejected;
+
+    public PasswordHashingExecutor(LoginConfig loginConfig) {
+        int threads = loginConfig.getHashingThreads() > 0
+                ? loginConfig.getHashingThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, loginConfig.getMaxQueued())), task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maxWaitNanos = loginConfig.getMaxWait().toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        queueTime = Timer.builder("akademix.login.hashing.queue")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejected = Counter.builder("akademix.login.hashing.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(registry);
+        Gauge.builder("akademix.login.hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("akademix.login.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(registry);
+    }
+
+    public <T> T execute(Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                record(System.nanoTime() - submitted);
+                return hashing.call();
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("Password hashing queue is full");
+        }
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw reject("Password hashing did not finish within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new LoginBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void record(long nanos) {
+        Timer timer = queueTime;
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private LoginBusyException reject(String message) {
+        Counter counter = rejected;
+        if (counter != null) {
+            counter.increment();
+        }
+        return new LoginBusyException(message);
+    }
+}
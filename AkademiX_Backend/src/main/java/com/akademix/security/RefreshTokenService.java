@@ -0,0 +1,89 @@
+package com.akademix.security;
+
+import com.akademix.config.LoginConfig;
+import com.akademix.model.RefreshToken;
+import com.akademix.model.User;
+import com.akademix.repository.RefreshTokenRepository;
+import com.akademix.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and exchanges opaque refresh tokens. An exchange costs one indexed
+ * lookup and a SHA-256 hash instead of a BCrypt verification, and rotates the
+ * token so each one can be used only once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final LoginConfig loginConfig;
+    private final SecureRandom random = new SecureRandom();
+
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), userId, now,
+                now.plus(loginConfig.getRefreshTokenTtl())));
+        return token;
+    }
+
+    /**
+     * Consumes the refresh token and returns the principal it was issued to.
+     */
+    @Transactional
+    public UserDetailsImpl exchange(String token) {
+        String tokenHash = hash(token);
+        Long userId = refreshTokenRepository.findUserIdByTokenHash(tokenHash, LocalDateTime.now())
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+        return UserDetailsImpl.build(user, null);
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(hash(token));
+    }
+
+    @Scheduled(fixedDelay = 3_600_000L, initialDelay = 60_000L)
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.akademix.security;
 
 import com.akademix.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -9,6 +10,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -27,7 +29,7 @@ public class UserDetailsImpl implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
-    public static UserDetailsImpl build(User user) {
+    public static UserDetailsImpl build(User user, String password) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority(role.getName().name()))
                 .collect(Collectors.toList());
@@ -36,7 +38,26 @@ public class UserDetailsImpl implements UserDetails {
                 user.getId(),
                 user.getEmail(),
                 user.getName(),
-                user.getPassword(),
+                password,
+                authorities);
+    }
+
+    /**
+     * Rebuilds the principal from a verified token without touching the database.
+     */
+    public static UserDetailsImpl build(Claims claims) {
+        List<?> roles = claims.get(JwtUtils.CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? Collections.emptyList()
+                : roles.stream()
+                        .map(role -> new SimpleGrantedAuthority(role.toString()))
+                        .collect(Collectors.toList());
+
+        return new UserDetailsImpl(
+                claims.get(JwtUtils.CLAIM_USER_ID, Long.class),
+                claims.getSubject(),
+                claims.get(JwtUtils.CLAIM_NAME, String.class),
+                null,
                 authorities);
     }
 
@@ -1,6 +1,7 @@
 package com.akademix.security;
 
 import com.akademix.model.User;
+import com.akademix.repository.UserCredentialsRepository;
 import com.akademix.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserCredentialsRepository userCredentialsRepository;
 
     @Override
     @Transactional
@@ -21,6 +23,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
-        return UserDetailsImpl.build(user);
+        String password = userCredentialsRepository.findPasswordByUserId(user.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("No credentials for user with email: " + email));
+
+        return UserDetailsImpl.build(user, password);
     }
 } 
\ No newline at end of file
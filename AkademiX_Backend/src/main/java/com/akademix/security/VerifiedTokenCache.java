@@ -0,0 +1,72 @@
+package com.akademix.security;
+
+import com.akademix.config.JwtConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified.
+ * Each entry is evicted no later than its token's expiration time.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, CachedToken> cache;
+
+    public VerifiedTokenCache(JwtConfig jwtConfig) {
+        this.cache = jwtConfig.isCacheEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtConfig.getCacheSize())
+                        .expireAfter(new TokenExpiry())
+                        .build()
+                : null;
+    }
+
+    public UserDetailsImpl get(String token) {
+        if (cache == null) {
+            return null;
+        }
+        CachedToken cached = cache.getIfPresent(token);
+        return cached != null && cached.expiresAt > System.currentTimeMillis() ? cached.userDetails : null;
+    }
+
+    public void put(String token, UserDetailsImpl userDetails, Date expiration) {
+        if (cache != null && expiration != null) {
+            cache.put(token, new CachedToken(userDetails, expiration.getTime()));
+        }
+    }
+
+    private static final class CachedToken {
+        private final UserDetailsImpl userDetails;
+        private final long expiresAt;
+
+        private CachedToken(UserDetailsImpl userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            long remaining = value.expiresAt - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package com.akademix.service;
 
 import com.akademix.dto.CommentDTO;
+import com.akademix.dto.CursorPageDTO;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.exception.BadRequestException;
 import com.akademix.exception.ResourceNotFoundException;
 import com.akademix.model.Comment;
 import com.akademix.model.Publication;
 import com.akademix.model.User;
+import com.akademix.outbox.OutboxService;
 import com.akademix.repository.CommentRepository;
 import com.akademix.repository.PublicationRepository;
 import com.akademix.repository.UserRepository;
+import com.akademix.repository.projection.CommentNode;
+import com.akademix.repository.projection.CommentSummary;
+import com.akademix.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,12 +39,65 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PublicationRepository publicationRepository;
     private final UserRepository userRepository;
+    private final EngagementCounterService counterService;
+    private final OutboxService outboxService;
     
+    @Transactional(readOnly = true)
     public Page<CommentDTO> getPublicationComments(Long publicationId, Pageable pageable) {
-        return commentRepository.findByPublicationId(publicationId, pageable)
+        // Top-level comments only; replies are fetched per thread
+        return commentRepository.findRootsByPublicationId(publicationId, pageable)
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getPublicationCommentFeed(Long publicationId, String cursor, int size,
+                                                               int replies) {
+        List<CommentNode> rows;
+        if (cursor == null) {
+            rows = commentRepository.findThreadPage(publicationId, size + 1, replies);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = commentRepository.findThreadPageBefore(
+                    publicationId, size + 1, replies, position.getCreatedAt(), position.getId());
+        }
+        
+        List<CommentNode> roots = rows.stream()
+                .filter(row -> row.getRootId() == null)
+                .sorted(Comparator.comparing(CommentNode::getCreatedAt).thenComparing(CommentNode::getId).reversed())
+                .collect(Collectors.toList());
+        Map<Long, List<CommentDTO>> repliesByRoot = rows.stream()
+                .filter(row -> row.getRootId() != null)
+                .sorted(Comparator.comparing(CommentNode::getPath))
+                .collect(Collectors.groupingBy(CommentNode::getRootId,
+                        Collectors.mapping(this::convertToDTO, Collectors.toList())));
+        
+        boolean hasNext = roots.size() > size;
+        List<CommentDTO> content = new ArrayList<>();
+        for (CommentNode root : hasNext ? roots.subList(0, size) : roots) {
+            CommentDTO dto = convertToDTO(root);
+            dto.setReplies(repliesByRoot.getOrDefault(root.getId(), Collections.emptyList()));
+            content.add(dto);
+        }
+        return CursorPageDTO.of(new SliceImpl<>(content, PageRequest.of(0, size), hasNext),
+                comment -> new KeysetCursor(comment.getCreatedAt(), comment.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getReplies(Long commentId, String cursor, int size) {
+        Comment comment = getCommentById(commentId);
+        String prefix = comment.threadPath();
+        // The cursor is the path of the last reply returned, which sorts after everything already seen
+        if (cursor != null && !(cursor.startsWith(prefix) && cursor.matches("[0-9a-f]+"))) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        Slice<CommentNode> slice = commentRepository.findRepliesAfter(
+                comment.threadId(), prefix, cursor == null ? prefix : cursor, PageRequest.of(0, size));
+        List<CommentNode> rows = slice.getContent();
+        String nextCursor = slice.hasNext() && !rows.isEmpty() ? rows.get(rows.size() - 1).getPath() : null;
+        return new CursorPageDTO<>(rows.stream().map(this::convertToDTO).collect(Collectors.toList()),
+                nextCursor, slice.hasNext());
+    }
+    
     public Comment getCommentById(Long id) {
         return commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
@@ -39,8 +108,10 @@ public class CommentService {
         User author = userRepository.findById(authorId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + authorId));
         
-        Publication publication = publicationRepository.findById(publicationId)
+        Long publicationAuthorId = publicationRepository.findAuthorIdById(publicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + publicationId));
+        // A reference is enough for the foreign key and avoids reading the publication's content
+        Publication publication = publicationRepository.getReferenceById(publicationId);
         
         Comment comment = new Comment();
         comment.setContent(content);
@@ -49,9 +120,41 @@ public class CommentService {
         comment.setCreatedAt(LocalDateTime.now());
         
         Comment savedComment = commentRepository.save(comment);
+        counterService.adjustPublicationComments(publicationId, 1);
+        outboxService.publish(new PublicationEngagementEvent(
+                publicationId, publicationAuthorId, PublicationEngagementEvent.Type.COMMENT, 1));
         return convertToDTO(savedComment);
     }
     
+    @Transactional
+    public CommentDTO createReply(String content, Long parentId, Long authorId) {
+        Comment parent = getCommentById(parentId);
+        if (parent.getDepth() >= Comment.MAX_DEPTH) {
+            throw new BadRequestException("Replies cannot be nested more than " + Comment.MAX_DEPTH + " levels deep");
+        }
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + authorId));
+        Long publicationId = parent.getPublication().getId();
+        
+        Comment reply = new Comment();
+        reply.setContent(content);
+        reply.setAuthor(author);
+        reply.setPublication(parent.getPublication());
+        reply.setParent(parent);
+        reply.setRootId(parent.threadId());
+        reply.setDepth(parent.getDepth() + 1);
+        reply.setCreatedAt(LocalDateTime.now());
+        
+        Comment savedReply = commentRepository.save(reply);
+        // The path ends with the reply's own id, which the identity column only hands out on insert
+        savedReply.setPath(parent.threadPath() + Comment.pathSegment(savedReply.getId()));
+        counterService.adjustPublicationComments(publicationId, 1);
+        counterService.adjustCommentReplies(savedReply.getRootId(), 1);
+        outboxService.publish(new PublicationEngagementEvent(publicationId,
+                parent.getPublication().getAuthor().getId(), PublicationEngagementEvent.Type.COMMENT, 1));
+        return convertToDTO(savedReply);
+    }
+    
     @Transactional
     public CommentDTO updateComment(Long id, String content) {
         Comment comment = getCommentById(id);
@@ -66,39 +169,94 @@ public class CommentService {
     @Transactional
     public void deleteComment(Long id) {
         Comment comment = getCommentById(id);
+        Long publicationId = comment.getPublication().getId();
+        // Replies go with the comment they answer
+        List<Long> replyIds = commentRepository.findReplyIds(comment.threadId(), comment.threadPath(), id);
+        if (!replyIds.isEmpty()) {
+            commentRepository.deleteLikesByCommentIdIn(replyIds);
+            commentRepository.deleteByIdIn(replyIds);
+        }
         commentRepository.delete(comment);
+        
+        int removed = replyIds.size() + 1;
+        counterService.adjustPublicationComments(publicationId, -removed);
+        if (comment.getRootId() != null) {
+            counterService.adjustCommentReplies(comment.getRootId(), -removed);
+        }
+        outboxService.publish(new PublicationEngagementEvent(publicationId,
+                comment.getPublication().getAuthor().getId(), PublicationEngagementEvent.Type.COMMENT, -removed));
     }
     
     @Transactional
-    public void likeComment(Long commentId, Long userId) {
-        Comment comment = getCommentById(commentId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    public boolean likeComment(Long commentId, Long userId) {
+        requireComment(commentId);
         
-        comment.getLikes().add(user);
-        commentRepository.save(comment);
+        boolean changed = commentRepository.insertLike(commentId, userId) > 0;
+        if (changed) {
+            counterService.adjustCommentLikes(commentId, 1);
+        }
+        return changed;
     }
     
     @Transactional
-    public void unlikeComment(Long commentId, Long userId) {
-        Comment comment = getCommentById(commentId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    public boolean unlikeComment(Long commentId, Long userId) {
+        requireComment(commentId);
         
-        comment.getLikes().remove(user);
-        commentRepository.save(comment);
+        boolean changed = commentRepository.deleteLike(commentId, userId) > 0;
+        if (changed) {
+            counterService.adjustCommentLikes(commentId, -1);
+        }
+        return changed;
+    }
+    
+    private void requireComment(Long id) {
+        if (!commentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Comment not found with id: " + id);
+        }
+    }
+    
+    CommentDTO convertToDTO(CommentSummary summary) {
+        return CommentDTO.builder()
+                .id(summary.getId())
+                .content(summary.getContent())
+                .authorId(summary.getAuthorId())
+                .authorName(summary.getAuthorName())
+                .publicationId(summary.getPublicationId())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .likesCount(summary.getLikesCount() + counterService.pendingCommentLikes(summary.getId()))
+                .build();
+    }
+    
+    CommentDTO convertToDTO(CommentNode node) {
+        return CommentDTO.builder()
+                .id(node.getId())
+                .content(node.getContent())
+                .authorId(node.getAuthorId())
+                .authorName(node.getAuthorName())
+                .publicationId(node.getPublicationId())
+                .parentId(node.getParentId())
+                .depth(node.getDepth())
+                .createdAt(node.getCreatedAt())
+                .updatedAt(node.getUpdatedAt())
+                .likesCount(node.getLikesCount() + counterService.pendingCommentLikes(node.getId()))
+                .repliesCount(node.getRepliesCount() + counterService.pendingCommentReplies(node.getId()))
+                .build();
     }
     
-    private CommentDTO convertToDTO(Comment comment) {
+    CommentDTO convertToDTO(Comment comment) {
         return CommentDTO.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
                 .authorId(comment.getAuthor().getId())
                 .authorName(comment.getAuthor().getName())
                 .publicationId(comment.getPublication().getId())
+                .parentId(comment.getParent() != null ? comment.getParent().getId() : null)
+                .depth(comment.getDepth())
                 .createdAt(comment.getCreatedAt())
                 .updatedAt(comment.getUpdatedAt())
-                .likesCount(comment.getLikes().size())
+                .likesCount(comment.getLikesCount() + counterService.pendingCommentLikes(comment.getId()))
+                .repliesCount(comment.getRepliesCount() + counterService.pendingCommentReplies(comment.getId()))
                 .build();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
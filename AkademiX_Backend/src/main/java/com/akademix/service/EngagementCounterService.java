@@ -0,0 +1,175 @@
+package com.akademix.service;
+
+import com.akademix.config.CounterConfig;
+import com.akademix.datasource.ReplicaLagMonitor;
+import com.akademix.model.Publication;
+import com.akademix.repository.PublicationRepository;
+import com.akademix.versioning.ResourceVersionCache;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers like/comment counter deltas in memory and flushes them to the
+ * denormalized *_count columns in JDBC batches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EngagementCounterService {
+
+    private static final String PUBLICATION_LIKES_SQL =
+            "UPDATE publications SET likes_count = likes_count + ? WHERE id = ?";
+    private static final String PUBLICATION_COMMENTS_SQL =
+            "UPDATE publications SET comments_count = comments_count + ? WHERE id = ?";
+    private static final String COMMENT_LIKES_SQL =
+            "UPDATE comments SET likes_count = likes_count + ? WHERE id = ?";
+    private static final String COMMENT_REPLIES_SQL =
+            "UPDATE comments SET replies_count = replies_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterConfig counterConfig;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final PublicationRepository publicationRepository;
+    private final ResourceVersionCache versionCache;
+
+    private final Map<Long, Integer> publicationLikes = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> publicationComments = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> commentLikes = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> commentReplies = new ConcurrentHashMap<>();
+
+    public void adjustPublicationLikes(Long publicationId, int delta) {
+        buffer(publicationLikes, publicationId, delta);
+    }
+
+    public void adjustPublicationComments(Long publicationId, int delta) {
+        buffer(publicationComments, publicationId, delta);
+    }
+
+    public void adjustCommentLikes(Long commentId, int delta) {
+        buffer(commentLikes, commentId, delta);
+    }
+
+    public void adjustCommentReplies(Long commentId, int delta) {
+        buffer(commentReplies, commentId, delta);
+    }
+
+    public int pendingPublicationLikes(Long publicationId) {
+        return publicationLikes.getOrDefault(publicationId, 0);
+    }
+
+    public int pendingPublicationComments(Long publicationId) {
+        return publicationComments.getOrDefault(publicationId, 0);
+    }
+
+    public int pendingCommentLikes(Long commentId) {
+        return commentLikes.getOrDefault(commentId, 0);
+    }
+
+    public int pendingCommentReplies(Long commentId) {
+        return commentReplies.getOrDefault(commentId, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.flush-interval:1000}")
+    public synchronized void flush() {
+        flush(publicationLikes, PUBLICATION_LIKES_SQL, Publication.class);
+        flush(publicationComments, PUBLICATION_COMMENTS_SQL, Publication.class);
+        flush(commentLikes, COMMENT_LIKES_SQL, null);
+        flush(commentReplies, COMMENT_REPLIES_SQL, null);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void buffer(Map<Long, Integer> deltas, Long id, int delta) {
+        // Only count changes that actually commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.merge(id, delta, Integer::sum);
+                }
+            });
+        } else {
+            deltas.merge(id, delta, Integer::sum);
+        }
+    }
+
+    private void flush(Map<Long, Integer> deltas, String sql, Class<?> cachedEntity) {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            // Left in place until the write is visible, so readers keep adding it to the stored count
+            Long id = entry.getKey();
+            Integer delta = entry.getValue();
+            if (delta != null && delta != 0) {
+                batch.add(new Object[]{delta, id});
+            } else {
+                // A like undone before the flush cancels out; no write of it is in flight, so the entry can go
+                deltas.remove(id, 0);
+            }
+            if (batch.size() >= counterConfig.getBatchSize()) {
+                write(deltas, sql, batch, cachedEntity);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(deltas, sql, batch, cachedEntity);
+        }
+    }
+
+    private void write(Map<Long, Integer> deltas, String sql, List<Object[]> batch, Class<?> cachedEntity) {
+        try {
+            // All or nothing, so a failed batch can be retried as a whole
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+            if (cachedEntity != null) {
+                // The counters were written behind Hibernate's back, so drop the second-level cache copies
+                Cache cache = entityManagerFactory.getCache();
+                batch.forEach(args -> cache.evict(cachedEntity, args[1]));
+                // A replica that has not applied the update yet may put the old row back meanwhile
+                replicaLagMonitor.ifAvailable(monitor -> monitor.afterLagWindow(
+                        () -> batch.forEach(args -> cache.evict(cachedEntity, args[1]))));
+            }
+        } catch (DataAccessException e) {
+            // The deltas are still pending and go out with the next flush
+            log.error("Counter flush failed, retrying {} deltas later: {}", batch.size(), e.getMessage());
+            return;
+        }
+        // Only now, with the row written and no stale copy cached, does the stored count include the delta
+        batch.forEach(args -> deltas.computeIfPresent((Long) args[1],
+                (id, pending) -> pending.equals(args[0]) ? null : pending - (Integer) args[0]));
+        if (cachedEntity != null) {
+            bumpVersions(batch);
+        }
+    }
+
+    private void bumpVersions(List<Object[]> batch) {
+        // The commit already bumped them, but a response built before this flush could be revalidated as current
+        List<Long> ids = batch.stream().map(args -> (Long) args[1]).toList();
+        ids.forEach(versionCache::publicationChanged);
+        versionCache.feedChanged();
+        try {
+            publicationRepository.findAuthorIdsByIdIn(ids).forEach(versionCache::authorFeedChanged);
+        } catch (DataAccessException e) {
+            log.error("Could not look up the authors of {} flushed publications: {}", ids.size(), e.getMessage());
+        }
+    }
+}
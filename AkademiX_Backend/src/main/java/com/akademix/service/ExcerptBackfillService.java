@@ -0,0 +1,50 @@
+package com.akademix.service;
+
+import com.akademix.model.Publication;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Fills the excerpt column of publications written before it existed. Runs in
+ * short id ranges so it never holds a long transaction; once every row has an
+ * excerpt it is a single lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExcerptBackfillService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String BACKFILL_SQL =
+            "UPDATE publications SET excerpt = CASE WHEN CHAR_LENGTH(content) > " + Publication.EXCERPT_LENGTH
+                    + " THEN SUBSTRING(content, 1, " + Publication.EXCERPT_LENGTH + ") || '...' ELSE content END "
+                    + "WHERE excerpt IS NULL AND id > ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM publications WHERE excerpt IS NULL");
+        if (range.get("first_id") == null) {
+            return;
+        }
+        long firstId = ((Number) range.get("first_id")).longValue();
+        long lastId = ((Number) range.get("last_id")).longValue();
+        long total = 0;
+        // Walks the primary key in fixed ranges so each statement is a short index range update
+        for (long from = firstId - 1; from < lastId; from += BATCH_SIZE) {
+            total += jdbcTemplate.update(BACKFILL_SQL, from, Math.min(from + BATCH_SIZE, lastId));
+        }
+        entityManagerFactory.getCache().evict(Publication.class);
+        log.info("Excerpts backfilled for {} publications", total);
+    }
+}
@@ -0,0 +1,128 @@
+package com.akademix.service;
+
+import com.akademix.repository.CommentRepository;
+import com.akademix.repository.PublicationRepository;
+import com.akademix.repository.projection.CommentExport;
+import com.akademix.repository.projection.PublicationExport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as NDJSON straight from a database cursor.
+ * <p>
+ * Rows are read as projections, so nothing is attached to the persistence
+ * context, and each row is written out before the next one is fetched. Heap
+ * use is bounded by the JDBC fetch size whatever the table size.
+ */
+@Service
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final PublicationRepository publicationRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(PublicationRepository publicationRepository,
+                         CommentRepository commentRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.publicationRepository = publicationRepository;
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportPublications(OutputStream out) {
+        export(out, publicationRepository::streamAllForExport, this::writePublication);
+    }
+
+    public void exportComments(OutputStream out) {
+        export(out, commentRepository::streamAllForExport, this::writeComment);
+    }
+
+    private <T> void export(OutputStream out, Supplier<Stream<T>> query, RowWriter<T> writer) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> rows = query.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                Iterator<T> iterator = rows.iterator();
+                long written = 0;
+                while (iterator.hasNext()) {
+                    generator.writeStartObject();
+                    writer.write(generator, iterator.next());
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writePublication(JsonGenerator generator, PublicationExport publication) throws IOException {
+        generator.writeNumberField("id", publication.getId());
+        generator.writeStringField("title", publication.getTitle());
+        generator.writeStringField("content", publication.getContent());
+        generator.writeNumberField("authorId", publication.getAuthorId());
+        generator.writeStringField("authorName", publication.getAuthorName());
+        writeDate(generator, "createdAt", publication.getCreatedAt());
+        writeDate(generator, "updatedAt", publication.getUpdatedAt());
+        generator.writeNumberField("likesCount", publication.getLikesCount());
+        generator.writeNumberField("commentsCount", publication.getCommentsCount());
+    }
+
+    private void writeComment(JsonGenerator generator, CommentExport comment) throws IOException {
+        generator.writeNumberField("id", comment.getId());
+        generator.writeNumberField("publicationId", comment.getPublicationId());
+        writeId(generator, "parentId", comment.getParentId());
+        writeId(generator, "rootId", comment.getRootId());
+        generator.writeNumberField("depth", comment.getDepth());
+        generator.writeStringField("path", comment.getPath());
+        generator.writeNumberField("authorId", comment.getAuthorId());
+        generator.writeStringField("authorName", comment.getAuthorName());
+        generator.writeStringField("content", comment.getContent());
+        writeDate(generator, "createdAt", comment.getCreatedAt());
+        writeDate(generator, "updatedAt", comment.getUpdatedAt());
+        generator.writeNumberField("likesCount", comment.getLikesCount());
+        generator.writeNumberField("repliesCount", comment.getRepliesCount());
+    }
+
+    private static void writeId(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeDate(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(JsonGenerator generator, T row) throws IOException;
+    }
+}
@@ -0,0 +1,216 @@
+package com.akademix.service;
+
+import com.akademix.config.ImportConfig;
+import com.akademix.dto.ImportErrorDTO;
+import com.akademix.dto.ImportResultDTO;
+import com.akademix.event.PublicationSavedEvent;
+import com.akademix.ingest.ImportFormat;
+import com.akademix.ingest.ImportReader;
+import com.akademix.ingest.ImportRecord;
+import com.akademix.ingest.ImportRowException;
+import com.akademix.model.Publication;
+import com.akademix.model.User;
+import com.akademix.outbox.OutboxService;
+import com.akademix.repository.PublicationRepository;
+import com.akademix.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Streams publications out of a CSV, NDJSON or BibTeX body and stores them
+ * in batches of {@code app.import.batch-size}, one transaction per batch.
+ * <p>
+ * Publication ids come from a pooled sequence, so each batch goes to the
+ * database as a handful of JDBC batch inserts. Authors are resolved once per
+ * import and referenced by id without loading them. A batch the database
+ * rejects is split in halves and retried until the offending rows are isolated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PublicationImportService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final PublicationRepository publicationRepository;
+    private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ImportConfig importConfig;
+
+    public ImportResultDTO importPublications(InputStream body, ImportFormat format,
+                                              Long importerId, boolean mayImportForOthers) {
+        long started = System.nanoTime();
+        Progress progress = new Progress(importConfig.getMaxErrors());
+        Map<String, Optional<Long>> authorsByEmail = new HashMap<>();
+        Map<Long, Boolean> knownAuthors = new HashMap<>();
+        List<ImportRecord> batch = new ArrayList<>();
+        List<Long> batchAuthors = new ArrayList<>();
+
+        try (ImportReader reader = format.open(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            while (true) {
+                ImportRecord record;
+                try {
+                    record = reader.next();
+                } catch (ImportRowException e) {
+                    progress.processed++;
+                    progress.fail(e.getRow(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                progress.processed++;
+
+                String problem = validate(record);
+                if (problem != null) {
+                    progress.fail(record.getRow(), problem);
+                    continue;
+                }
+                Long authorId = resolveAuthor(record, importerId, authorsByEmail, knownAuthors);
+                if (authorId == null) {
+                    progress.fail(record.getRow(), "Author not found");
+                    continue;
+                }
+                if (!authorId.equals(importerId) && !mayImportForOthers) {
+                    progress.fail(record.getRow(), "Not allowed to import publications for other users");
+                    continue;
+                }
+
+                batch.add(record);
+                batchAuthors.add(authorId);
+                if (batch.size() >= importConfig.getBatchSize()) {
+                    store(batch, batchAuthors, progress);
+                    batch.clear();
+                    batchAuthors.clear();
+                }
+            }
+        } catch (IOException e) {
+            progress.fail(null, "Reading the import body failed: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            store(batch, batchAuthors, progress);
+        }
+
+        long durationMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Imported {} of {} {} rows in {} ms", progress.imported, progress.processed, format, durationMillis);
+        return ImportResultDTO.builder()
+                .format(format.name())
+                .processed(progress.processed)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(progress.processed * 1000.0 / durationMillis)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    private void store(List<ImportRecord> records, List<Long> authorIds, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> store(records, authorIds));
+            progress.imported += records.size();
+        } catch (DataAccessException e) {
+            entityManager.clear();
+            if (records.size() == 1 || e instanceof DataAccessResourceFailureException) {
+                String reason = "Rejected by the database: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                records.forEach(record -> progress.fail(record.getRow(), reason));
+                return;
+            }
+            // Halve the batch until the failing rows are on their own, so every other row is still imported
+            int half = records.size() / 2;
+            store(records.subList(0, half), authorIds.subList(0, half), progress);
+            store(records.subList(half, records.size()), authorIds.subList(half, authorIds.size()), progress);
+        }
+    }
+
+    private void store(List<ImportRecord> records, List<Long> authorIds) {
+        List<Publication> publications = new ArrayList<>(records.size());
+        Map<Long, Integer> perAuthor = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            Publication publication = new Publication();
+            publication.setTitle(records.get(i).getTitle().trim());
+            publication.setContent(records.get(i).getContent());
+            publication.setAuthor(entityManager.getReference(User.class, authorIds.get(i)));
+            publications.add(publication);
+            perAuthor.merge(authorIds.get(i), 1, Integer::sum);
+        }
+        publicationRepository.saveAllAndFlush(publications);
+
+        perAuthor.forEach(userStatsService::adjustPublications);
+        List<PublicationSavedEvent> events = new ArrayList<>(publications.size());
+        for (int i = 0; i < publications.size(); i++) {
+            Publication publication = publications.get(i);
+            events.add(new PublicationSavedEvent(
+                    publication.getId(), authorIds.get(i), publication.getTitle(),
+                    publication.getContent(), publication.getCreatedAt(), true));
+        }
+        outboxService.publishAll(events);
+        // Keep the persistence context from growing across batches
+        entityManager.clear();
+    }
+
+    private static String validate(ImportRecord record) {
+        if (record.getTitle() == null || record.getTitle().isBlank()) {
+            return "Missing title";
+        }
+        if (record.getTitle().trim().length() > MAX_TITLE_LENGTH) {
+            return "Title is longer than " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (record.getContent() == null || record.getContent().isBlank()) {
+            return "Missing content";
+        }
+        return null;
+    }
+
+    private Long resolveAuthor(ImportRecord record, Long importerId,
+                               Map<String, Optional<Long>> authorsByEmail, Map<Long, Boolean> knownAuthors) {
+        if (record.getAuthorId() != null) {
+            boolean exists = knownAuthors.computeIfAbsent(record.getAuthorId(), userRepository::existsById);
+            return exists ? record.getAuthorId() : null;
+        }
+        if (record.getAuthorEmail() != null && !record.getAuthorEmail().isBlank()) {
+            return authorsByEmail.computeIfAbsent(record.getAuthorEmail().trim(), userRepository::findIdByEmail)
+                    .orElse(null);
+        }
+        return importerId;
+    }
+
+    private static final class Progress {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(Long row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(row, message));
+            }
+        }
+    }
+}
@@ -1,20 +1,42 @@
 package com.akademix.service;
 
+import com.akademix.dto.CursorPageDTO;
 import com.akademix.dto.PublicationDTO;
 import com.akademix.dto.PublicationDetailsDTO;
+import com.akademix.dto.PublicationSearchResultDTO;
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.event.PublicationSavedEvent;
 import com.akademix.exception.ResourceNotFoundException;
 import com.akademix.model.Publication;
 import com.akademix.model.User;
+import com.akademix.outbox.OutboxService;
 import com.akademix.repository.PublicationRepository;
 import com.akademix.repository.UserRepository;
+import com.akademix.repository.projection.PublicationSummary;
+import com.akademix.repository.projection.SearchDocument;
+import com.akademix.search.PublicationSearchEngine;
+import com.akademix.search.SearchHit;
+import com.akademix.search.SearchResults;
+import com.akademix.search.SnippetHighlighter;
+import com.akademix.trending.TrendingEngine;
+import com.akademix.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,23 +45,55 @@ public class PublicationService {
 
     private final PublicationRepository publicationRepository;
     private final UserRepository userRepository;
+    private final EngagementCounterService counterService;
+    private final UserStatsService userStatsService;
+    private final PublicationSearchEngine searchEngine;
+    private final TrendingEngine trendingEngine;
+    private final OutboxService outboxService;
     
+    @Transactional(readOnly = true)
     public Page<PublicationDTO> getAllPublications(Pageable pageable) {
-        return publicationRepository.findAllByOrderByCreatedAtDesc(pageable)
+        return publicationRepository.findFeed(pageable)
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
     public Page<PublicationDTO> getUserPublications(Long userId, Pageable pageable) {
-        return publicationRepository.findByAuthorId(userId, pageable)
+        return publicationRepository.findFeedByAuthorId(userId, pageable)
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PublicationDTO> getPublicationFeed(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<PublicationSummary> slice;
+        if (cursor == null) {
+            slice = publicationRepository.findFeedSlice(pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = publicationRepository.findFeedSliceBefore(position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPageDTO.of(slice.map(this::convertToDTO), this::cursorOf);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PublicationDTO> getUserPublicationFeed(Long userId, String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<PublicationSummary> slice;
+        if (cursor == null) {
+            slice = publicationRepository.findFeedSliceByAuthorId(userId, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = publicationRepository.findFeedSliceByAuthorIdBefore(
+                    userId, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPageDTO.of(slice.map(this::convertToDTO), this::cursorOf);
+    }
+    
+    @Transactional(readOnly = true)
     public PublicationDetailsDTO getPublicationDetails(Long id) {
         Publication publication = getPublicationById(id);
         
-        Integer likesCount = publicationRepository.countLikesByPublicationId(id);
-        Integer commentsCount = publicationRepository.countCommentsByPublicationId(id);
-        
         return PublicationDetailsDTO.builder()
                 .id(publication.getId())
                 .title(publication.getTitle())
@@ -48,17 +102,63 @@ public class PublicationService {
                 .authorId(publication.getAuthor().getId())
                 .createdAt(publication.getCreatedAt())
                 .updatedAt(publication.getUpdatedAt())
-                .likes(likesCount)
-                .comments(commentsCount)
+                .likes(publication.getLikesCount() + counterService.pendingPublicationLikes(id))
+                .comments(publication.getCommentsCount() + counterService.pendingPublicationComments(id))
                 .build();
     }
     
-    public List<PublicationDTO> searchPublications(String keyword) {
-        return publicationRepository.searchPublications(keyword).stream()
+    @Transactional(readOnly = true)
+    public List<PublicationDTO> getTrendingPublications(int size) {
+        List<Long> ids = trendingEngine.top(size);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Map<Long, PublicationSummary> summaries = publicationRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PublicationSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public Page<PublicationSearchResultDTO> searchPublications(String keyword, Pageable pageable) {
+        SearchResults results = searchEngine.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        if (results.getHits().isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, results.getTotal());
+        }
+        
+        List<Long> ids = results.getHits().stream()
+                .map(SearchHit::getPublicationId)
+                .collect(Collectors.toList());
+        Map<Long, PublicationSummary> summaries = publicationRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PublicationSummary::getId, Function.identity()));
+        Map<Long, String> contents = publicationRepository.findSearchDocumentsByIdIn(ids).stream()
+                .collect(Collectors.toMap(SearchDocument::getId, SearchDocument::getContent));
+        
+        List<PublicationSearchResultDTO> content = new ArrayList<>();
+        for (SearchHit hit : results.getHits()) {
+            PublicationSummary summary = summaries.get(hit.getPublicationId());
+            if (summary == null) {
+                continue;
+            }
+            content.add(PublicationSearchResultDTO.builder()
+                    .id(summary.getId())
+                    .title(summary.getTitle())
+                    .snippet(SnippetHighlighter.highlight(contents.get(summary.getId()), results.getTerms()))
+                    .authorId(summary.getAuthorId())
+                    .authorName(summary.getAuthorName())
+                    .createdAt(summary.getCreatedAt())
+                    .likesCount(summary.getLikesCount() + counterService.pendingPublicationLikes(summary.getId()))
+                    .commentsCount(summary.getCommentsCount() + counterService.pendingPublicationComments(summary.getId()))
+                    .score(hit.getScore())
+                    .build());
+        }
+        return new PageImpl<>(content, pageable, results.getTotal());
+    }
+    
     public Publication getPublicationById(Long id) {
         return publicationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
@@ -76,6 +176,9 @@ public class PublicationService {
         publication.setCreatedAt(LocalDateTime.now());
         
         Publication savedPublication = publicationRepository.save(publication);
+        userStatsService.adjustPublications(authorId, 1);
+        outboxService.publish(new PublicationSavedEvent(
+                savedPublication.getId(), authorId, title, content, savedPublication.getCreatedAt(), true));
         return convertToDTO(savedPublication);
     }
     
@@ -88,6 +191,9 @@ public class PublicationService {
         publication.setUpdatedAt(LocalDateTime.now());
         
         Publication updatedPublication = publicationRepository.save(publication);
+        outboxService.publish(new PublicationSavedEvent(
+                updatedPublication.getId(), updatedPublication.getAuthor().getId(), title, content,
+                updatedPublication.getCreatedAt(), false));
         return convertToDTO(updatedPublication);
     }
     
@@ -95,38 +201,68 @@ public class PublicationService {
     public void deletePublication(Long id) {
         Publication publication = getPublicationById(id);
         publicationRepository.delete(publication);
+        userStatsService.adjustPublications(publication.getAuthor().getId(), -1);
+        outboxService.publish(new PublicationDeletedEvent(id, publication.getAuthor().getId()));
     }
     
     @Transactional
-    public void likePublication(Long publicationId, Long userId) {
-        Publication publication = getPublicationById(publicationId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    public boolean likePublication(Long publicationId, Long userId) {
+        Long authorId = requireAuthorId(publicationId);
         
-        publication.getLikes().add(user);
-        publicationRepository.save(publication);
+        boolean changed = publicationRepository.insertLike(publicationId, userId) > 0;
+        if (changed) {
+            counterService.adjustPublicationLikes(publicationId, 1);
+            outboxService.publish(new PublicationEngagementEvent(
+                    publicationId, authorId, PublicationEngagementEvent.Type.LIKE, 1));
+        }
+        return changed;
     }
     
     @Transactional
-    public void unlikePublication(Long publicationId, Long userId) {
-        Publication publication = getPublicationById(publicationId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    public boolean unlikePublication(Long publicationId, Long userId) {
+        Long authorId = requireAuthorId(publicationId);
         
-        publication.getLikes().remove(user);
-        publicationRepository.save(publication);
+        boolean changed = publicationRepository.deleteLike(publicationId, userId) > 0;
+        if (changed) {
+            counterService.adjustPublicationLikes(publicationId, -1);
+            outboxService.publish(new PublicationEngagementEvent(
+                    publicationId, authorId, PublicationEngagementEvent.Type.LIKE, -1));
+        }
+        return changed;
+    }
+    
+    private Long requireAuthorId(Long id) {
+        return publicationRepository.findAuthorIdById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Publication not found with id: " + id));
+    }
+    
+    private KeysetCursor cursorOf(PublicationDTO publication) {
+        return new KeysetCursor(publication.getCreatedAt(), publication.getId());
+    }
+    
+    public PublicationDTO convertToDTO(PublicationSummary summary) {
+        return PublicationDTO.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .content(summary.getExcerpt())
+                .authorId(summary.getAuthorId())
+                .authorName(summary.getAuthorName())
+                .createdAt(summary.getCreatedAt())
+                .likesCount(summary.getLikesCount() + counterService.pendingPublicationLikes(summary.getId()))
+                .commentsCount(summary.getCommentsCount() + counterService.pendingPublicationComments(summary.getId()))
+                .build();
     }
     
-    private PublicationDTO convertToDTO(Publication publication) {
+    PublicationDTO convertToDTO(Publication publication) {
         return PublicationDTO.builder()
                 .id(publication.getId())
                 .title(publication.getTitle())
-                .content(publication.getContent().substring(0, Math.min(publication.getContent().length(), 200)) + "...")
+                .content(publication.getExcerpt())
                 .authorId(publication.getAuthor().getId())
                 .authorName(publication.getAuthor().getName())
                 .createdAt(publication.getCreatedAt())
-                .likesCount(publication.getLikes().size())
-                .commentsCount(publication.getComments().size())
+                .likesCount(publication.getLikesCount() + counterService.pendingPublicationLikes(publication.getId()))
+                .commentsCount(publication.getCommentsCount() + counterService.pendingPublicationComments(publication.getId()))
                 .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,357 @@
+package com.akademix.service;
+
+import com.akademix.config.ProvisioningConfig;
+import com.akademix.datasource.ReplicaLagMonitor;
+import com.akademix.dto.ImportErrorDTO;
+import com.akademix.dto.ProvisioningProgressDTO;
+import com.akademix.dto.RegisterDTO;
+import com.akademix.ingest.ImportRowException;
+import com.akademix.ingest.NdjsonUserReader;
+import com.akademix.ingest.UserRecord;
+import com.akademix.model.Role;
+import com.akademix.repository.RoleRepository;
+import com.akademix.repository.UserRepository;
+import com.akademix.repository.projection.UserIdentity;
+import com.akademix.security.PooledPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+/**
+ * Opens accounts in bulk from an NDJSON body, one transaction per batch of
+ * {@code app.provisioning.batch-size}, and writes an NDJSON progress line
+ * after every batch plus a final summary.
+ * <p>
+ * Emails already taken are found with one {@code IN} query per batch,
+ * passwords are hashed in parallel on a dedicated fork-join pool, role ids
+ * are resolved once per import, and rows go to the database as JDBC batch
+ * inserts. A batch the database rejects is split in halves and retried until
+ * the offending rows are isolated and reported on their own.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService implements DisposableBean {
+
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (email, name, title, institution, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CREDENTIALS_SQL = "INSERT INTO user_credentials (user_id, password) VALUES (?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final ProvisioningConfig provisioningConfig;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final ForkJoinPool hashingPool;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   RoleRepository roleRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   EntityManagerFactory entityManagerFactory,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   PasswordEncoder passwordEncoder,
+                                   ProvisioningConfig provisioningConfig,
+                                   ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        // Hash on our own pool; the login pool's short queue is sized for interactive logins
+        this.passwordEncoder = passwordEncoder instanceof PooledPasswordEncoder pooled
+                ? pooled.getDelegate()
+                : passwordEncoder;
+        this.provisioningConfig = provisioningConfig;
+        this.replicaLagMonitor = replicaLagMonitor;
+        int parallelism = provisioningConfig.getHashingParallelism() > 0
+                ? provisioningConfig.getHashingParallelism()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-provisioning-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    public void provision(InputStream body, OutputStream out) {
+        long started = System.nanoTime();
+        Progress progress = new Progress(provisioningConfig.getMaxErrors());
+        Set<String> seenEmails = new HashSet<>();
+        Map<Role.ERole, Integer> roleIds = new EnumMap<>(Role.ERole.class);
+        List<Candidate> batch = new ArrayList<>();
+
+        try (NdjsonUserReader reader = new NdjsonUserReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            while (true) {
+                UserRecord record;
+                try {
+                    record = reader.next();
+                } catch (ImportRowException e) {
+                    progress.processed++;
+                    progress.fail(e.getRow(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                progress.processed++;
+
+                String problem = validate(record);
+                if (problem != null) {
+                    progress.fail(record.getRow(), problem);
+                    continue;
+                }
+                Role.ERole role = parseRole(record.getRole());
+                if (role == null) {
+                    progress.fail(record.getRow(), "Unknown role: " + record.getRole());
+                    continue;
+                }
+                String email = record.getEmail().trim();
+                if (!seenEmails.add(email)) {
+                    progress.skip(record.getRow(), "Duplicate email in this import");
+                    continue;
+                }
+
+                batch.add(new Candidate(record, email, roleIds.computeIfAbsent(role, this::roleId)));
+                if (batch.size() >= provisioningConfig.getBatchSize()) {
+                    store(batch, progress);
+                    batch.clear();
+                    write(out, progress.report(started, false));
+                }
+            }
+        } catch (IOException e) {
+            progress.fail(null, "Reading the provisioning body failed: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            store(batch, progress);
+        }
+
+        ProvisioningProgressDTO result = progress.report(started, true);
+        log.info("Provisioned {} of {} accounts in {} ms ({} skipped, {} failed)", progress.created,
+                progress.processed, result.getDurationMillis(), progress.skipped, progress.failed);
+        write(out, result);
+    }
+
+    @Override
+    public void destroy() {
+        hashingPool.shutdownNow();
+    }
+
+    private void store(List<Candidate> batch, Progress progress) {
+        Set<String> taken = new HashSet<>(userRepository.findEmailsByEmailIn(
+                batch.stream().map(Candidate::getEmail).collect(Collectors.toList())));
+        List<Candidate> accepted = new ArrayList<>(batch.size());
+        for (Candidate candidate : batch) {
+            if (taken.contains(candidate.getEmail())) {
+                progress.skip(candidate.getRecord().getRow(), "Email is already in use");
+            } else {
+                accepted.add(candidate);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        insert(accepted, hash(accepted), progress);
+        // The rows bypassed Hibernate, so cached "no such user" lookups would otherwise outlive them
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        cache.evictDefaultQueryRegion();
+        replicaLagMonitor.ifAvailable(monitor -> monitor.afterLagWindow(cache::evictDefaultQueryRegion));
+    }
+
+    private void insert(List<Candidate> candidates, List<String> hashes, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(candidates, hashes));
+            progress.created += candidates.size();
+        } catch (DataAccessException e) {
+            if (candidates.size() == 1 || e instanceof DataAccessResourceFailureException) {
+                String reason = "Rejected by the database: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                candidates.forEach(candidate -> progress.fail(candidate.getRecord().getRow(), reason));
+                return;
+            }
+            // Halve the batch until the failing rows are on their own, so every other row is still created
+            int half = candidates.size() / 2;
+            insert(candidates.subList(0, half), hashes.subList(0, half), progress);
+            insert(candidates.subList(half, candidates.size()), hashes.subList(half, hashes.size()), progress);
+        }
+    }
+
+    private void insert(List<Candidate> accepted, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(accepted.size());
+        for (Candidate candidate : accepted) {
+            UserRecord record = candidate.getRecord();
+            users.add(new Object[]{candidate.getEmail(), record.getName().trim(),
+                    blankToNull(record.getTitle()), blankToNull(record.getInstitution()), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users);
+
+        // Ids are generated by the database, so read them back in one query rather than per row
+        Map<String, Long> ids = userRepository.findIdentitiesByEmailIn(
+                        accepted.stream().map(Candidate::getEmail).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(UserIdentity::getEmail, UserIdentity::getId));
+        List<Object[]> credentials = new ArrayList<>(accepted.size());
+        List<Object[]> roles = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Long userId = ids.get(accepted.get(i).getEmail());
+            credentials.add(new Object[]{userId, hashes.get(i)});
+            roles.add(new Object[]{userId, accepted.get(i).getRoleId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_CREDENTIALS_SQL, credentials);
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, roles);
+    }
+
+    private List<String> hash(List<Candidate> candidates) {
+        List<ForkJoinTask<String>> tasks = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String password = candidate.getRecord().getPassword();
+            tasks.add(hashingPool.submit(() -> passwordEncoder.encode(password)));
+        }
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    private Integer roleId(Role.ERole name) {
+        return roleRepository.findByName(name)
+                .orElseThrow(() -> new IllegalStateException(name + " is missing"))
+                .getId();
+    }
+
+    private String validate(UserRecord record) {
+        RegisterDTO registration = new RegisterDTO(record.getName(), record.getEmail(), record.getPassword(),
+                record.getTitle(), record.getInstitution());
+        String violations = validator.validate(registration).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        for (String value : new String[]{record.getEmail(), record.getName(), record.getTitle(), record.getInstitution()}) {
+            if (value != null && value.trim().length() > MAX_COLUMN_LENGTH) {
+                return "A field is longer than " + MAX_COLUMN_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    private static Role.ERole parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return Role.ERole.ROLE_USER;
+        }
+        String name = role.trim().toUpperCase(Locale.ROOT);
+        try {
+            return Role.ERole.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private void write(OutputStream out, ProvisioningProgressDTO line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Value
+    private static class Candidate {
+        UserRecord record;
+        String email;
+        Integer roleId;
+    }
+
+    private static final class Progress {
+        private final int maxErrors;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long processed;
+        private long created;
+        private long skipped;
+        private long failed;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(Long row, String message) {
+            failed++;
+            record(row, message);
+        }
+
+        private void skip(Long row, String message) {
+            skipped++;
+            record(row, message);
+        }
+
+        private void record(Long row, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDTO(row, message));
+            }
+        }
+
+        private ProvisioningProgressDTO report(long started, boolean done) {
+            long durationMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            ProvisioningProgressDTO.ProvisioningProgressDTOBuilder report = ProvisioningProgressDTO.builder()
+                    .processed(processed)
+                    .created(created)
+                    .skipped(skipped)
+                    .failed(failed)
+                    .durationMillis(durationMillis)
+                    .rowsPerSecond(processed * 1000.0 / durationMillis)
+                    .done(done);
+            if (done) {
+                report.errors(errors).errorsTruncated(skipped + failed > errors.size());
+            }
+            return report.build();
+        }
+    }
+}
@@ -2,17 +2,32 @@ package com.akademix.service;
 
 import com.akademix.dto.UserProfileDTO;
 import com.akademix.dto.UserSummaryDTO;
+import com.akademix.event.FollowChangedEvent;
 import com.akademix.exception.ResourceNotFoundException;
+import com.akademix.graph.FollowGraphIndex;
 import com.akademix.model.User;
+import com.akademix.model.UserCredentials;
+import com.akademix.model.UserStats;
+import com.akademix.outbox.OutboxService;
+import com.akademix.repository.UserCredentialsRepository;
 import com.akademix.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,13 +35,23 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final UserCredentialsRepository userCredentialsRepository;
+    private final FollowGraphIndex followGraph;
+    private final UserStatsService userStatsService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public User createUser(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+    public User createUser(User user, String rawPassword) {
+        // Hashed before the transaction so a slow hash never holds a pooled connection
+        String passwordHash = passwordEncoder.encode(rawPassword);
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            userCredentialsRepository.save(new UserCredentials(saved.getId(), passwordHash));
+            return saved;
+        });
     }
 
     public User getUserById(Long id) {
@@ -46,12 +71,10 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public UserProfileDTO getUserProfile(Long id) {
         User user = getUserById(id);
-        
-        Integer publicationsCount = userRepository.countPublicationsByUserId(id);
-        Integer followersCount = userRepository.countFollowersByUserId(id);
-        Integer followingCount = userRepository.countFollowingByUserId(id);
+        UserStats stats = userStatsService.getStats(id);
         
         return UserProfileDTO.builder()
                 .id(user.getId())
@@ -61,13 +84,14 @@ public class UserService {
                 .institution(user.getInstitution())
                 .bio(user.getBio())
                 .profileImage(user.getProfileImage())
-                .publications(publicationsCount)
-                .followers(followersCount)
-                .following(followingCount)
+                .publications(stats.getPublicationsCount())
+                .followers(stats.getFollowersCount())
+                .following(stats.getFollowingCount())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
     
+    @Transactional(readOnly = true)
     public List<UserSummaryDTO> searchUsers(String keyword) {
         return userRepository.searchUsers(keyword).stream()
                 .map(user -> UserSummaryDTO.builder()
@@ -81,34 +105,76 @@ public class UserService {
     }
 
     @Transactional
-    public void followUser(Long userId, Long targetUserId) {
+    public boolean followUser(Long userId, Long targetUserId) {
         if (userId.equals(targetUserId)) {
             throw new IllegalArgumentException("User cannot follow themselves");
         }
+        requireUser(targetUserId);
         
-        User user = getUserById(userId);
-        User targetUser = getUserById(targetUserId);
-        
-        targetUser.getFollowers().add(user);
-        userRepository.save(targetUser);
+        boolean changed = userRepository.insertFollower(targetUserId, userId) > 0;
+        if (changed) {
+            userStatsService.adjustFollowers(targetUserId, 1);
+            userStatsService.adjustFollowing(userId, 1);
+            outboxService.publish(new FollowChangedEvent(userId, targetUserId, true));
+        }
+        return changed;
     }
 
     @Transactional
-    public void unfollowUser(Long userId, Long targetUserId) {
-        User user = getUserById(userId);
-        User targetUser = getUserById(targetUserId);
+    public boolean unfollowUser(Long userId, Long targetUserId) {
+        requireUser(targetUserId);
         
-        targetUser.getFollowers().remove(user);
-        userRepository.save(targetUser);
+        boolean changed = userRepository.deleteFollower(targetUserId, userId) > 0;
+        if (changed) {
+            userStatsService.adjustFollowers(targetUserId, -1);
+            userStatsService.adjustFollowing(userId, -1);
+            outboxService.publish(new FollowChangedEvent(userId, targetUserId, false));
+        }
+        return changed;
+    }
+    
+    private void requireUser(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User not found with id: " + id);
+        }
     }
 
-    public List<User> getFollowers(Long userId) {
-        User user = getUserById(userId);
-        return user.getFollowers().stream().collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<UserSummaryDTO> getFollowers(Long userId, Pageable pageable) {
+        requireUser(userId);
+        return toSummaryPage(followGraph.followers(userId), pageable);
     }
 
-    public List<User> getFollowing(Long userId) {
-        User user = getUserById(userId);
-        return user.getFollowing().stream().collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Page<UserSummaryDTO> getFollowing(Long userId, Pageable pageable) {
+        requireUser(userId);
+        return toSummaryPage(followGraph.following(userId), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserSummaryDTO> getMutualFollowers(Long userId, Pageable pageable) {
+        requireUser(userId);
+        return toSummaryPage(followGraph.mutuals(userId), pageable);
+    }
+
+    public boolean isFollowing(Long userId, Long targetUserId) {
+        return followGraph.isFollowing(userId, targetUserId);
+    }
+
+    private Page<UserSummaryDTO> toSummaryPage(long[] userIds, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), userIds.length);
+        int to = Math.min(from + pageable.getPageSize(), userIds.length);
+        if (from == to) {
+            return new PageImpl<>(Collections.emptyList(), pageable, userIds.length);
+        }
+        
+        List<Long> pageIds = Arrays.stream(userIds, from, to).boxed().collect(Collectors.toList());
+        Map<Long, UserSummaryDTO> summaries = userRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(UserSummaryDTO::getId, Function.identity()));
+        List<UserSummaryDTO> content = pageIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, userIds.length);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.akademix.service;
+
+import com.akademix.config.CounterConfig;
+import com.akademix.datasource.ReplicaLagMonitor;
+import com.akademix.datasource.ReplicaRoutingDataSource;
+import com.akademix.model.UserStats;
+import com.akademix.repository.UserStatsRepository;
+import com.akademix.versioning.ResourceVersionCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Profile counters of users, read through an in-memory cache in front of the
+ * user_stats table.
+ * <p>
+ * Changes are buffered as deltas after commit and flushed in JDBC batches,
+ * like the engagement counters. Reads add the still pending deltas to the
+ * cached row, and flushed deltas are folded into the cached row afterwards.
+ */
+@Slf4j
+@Service
+public class UserStatsService {
+
+    private static final String ENSURE_ROW_SQL =
+            "INSERT INTO user_stats (user_id, publications_count, followers_count, following_count) "
+                    + "VALUES (?, 0, 0, 0) ON CONFLICT DO NOTHING";
+    private static final String BACKFILL_SQL =
+            "INSERT INTO user_stats (user_id, publications_count, followers_count, following_count) "
+                    + "SELECT u.id, "
+                    + "(SELECT COUNT(*) FROM publications p WHERE p.author_id = u.id), "
+                    + "(SELECT COUNT(*) FROM user_followers f WHERE f.user_id = u.id), "
+                    + "(SELECT COUNT(*) FROM user_followers f WHERE f.follower_id = u.id) "
+                    + "FROM users u WHERE NOT EXISTS (SELECT 1 FROM user_stats s WHERE s.user_id = u.id)";
+
+    private enum Counter {
+        PUBLICATIONS("publications_count"),
+        FOLLOWERS("followers_count"),
+        FOLLOWING("following_count");
+
+        private final String sql;
+
+        Counter(String column) {
+            this.sql = "UPDATE user_stats SET " + column + " = " + column + " + ? WHERE user_id = ?";
+        }
+    }
+
+    private final UserStatsRepository userStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CounterConfig counterConfig;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final ResourceVersionCache versionCache;
+    private final Cache<Long, UserStats> cache;
+    private final Map<Counter, Map<Long, Integer>> deltas = new EnumMap<>(Counter.class);
+
+    public UserStatsService(UserStatsRepository userStatsRepository,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            CounterConfig counterConfig,
+                            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                            ResourceVersionCache versionCache) {
+        this.userStatsRepository = userStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.counterConfig = counterConfig;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.versionCache = versionCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(counterConfig.getUserStatsCacheSize())
+                .build();
+        for (Counter counter : Counter.values()) {
+            deltas.put(counter, new ConcurrentHashMap<>());
+        }
+    }
+
+    public UserStats getStats(Long userId) {
+        UserStats stored = cache.get(userId, this::load);
+        return new UserStats(userId,
+                stored.getPublicationsCount() + pending(Counter.PUBLICATIONS, userId),
+                stored.getFollowersCount() + pending(Counter.FOLLOWERS, userId),
+                stored.getFollowingCount() + pending(Counter.FOLLOWING, userId));
+    }
+
+    private UserStats load(Long userId) {
+        if (!ReplicaRoutingDataSource.isReadWriteTransaction()) {
+            // Possibly read from a lagging replica, so only keep it until the replicas have caught up
+            replicaLagMonitor.ifAvailable(monitor -> monitor.afterLagWindow(() -> cache.invalidate(userId)));
+        }
+        return userStatsRepository.findById(userId).orElseGet(() -> new UserStats(userId, 0, 0, 0));
+    }
+
+    public void adjustPublications(Long userId, int delta) {
+        buffer(Counter.PUBLICATIONS, userId, delta);
+    }
+
+    public void adjustFollowers(Long userId, int delta) {
+        buffer(Counter.FOLLOWERS, userId, delta);
+    }
+
+    public void adjustFollowing(Long userId, int delta) {
+        buffer(Counter.FOLLOWING, userId, delta);
+    }
+
+    /**
+     * Creates the missing rows of users that existed before user_stats did.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int created = jdbcTemplate.update(BACKFILL_SQL);
+        if (created > 0) {
+            log.info("User stats backfilled for {} users", created);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.flush-interval:1000}")
+    public synchronized void flush() {
+        for (Counter counter : Counter.values()) {
+            flush(counter);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private int pending(Counter counter, Long userId) {
+        return deltas.get(counter).getOrDefault(userId, 0);
+    }
+
+    private void buffer(Counter counter, Long userId, int delta) {
+        Map<Long, Integer> counterDeltas = deltas.get(counter);
+        // Only count changes that actually commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counterDeltas.merge(userId, delta, Integer::sum);
+                }
+            });
+        } else {
+            counterDeltas.merge(userId, delta, Integer::sum);
+        }
+    }
+
+    private void flush(Counter counter) {
+        Map<Long, Integer> counterDeltas = deltas.get(counter);
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : counterDeltas.entrySet()) {
+            // Left in place until the write commits, so readers keep adding it to the stored count
+            Long id = entry.getKey();
+            Integer delta = entry.getValue();
+            if (delta != null && delta != 0) {
+                batch.add(new Object[]{delta, id});
+            } else {
+                // A follow undone before the flush cancels out; no write of it is in flight, so the entry can go
+                counterDeltas.remove(id, 0);
+            }
+            if (batch.size() >= counterConfig.getBatchSize()) {
+                write(counter, batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(counter, batch);
+        }
+    }
+
+    private void write(Counter counter, List<Object[]> batch) {
+        List<Object[]> ids = batch.stream()
+                .map(args -> new Object[]{args[1]})
+                .collect(Collectors.toList());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(ENSURE_ROW_SQL, ids);
+                jdbcTemplate.batchUpdate(counter.sql, batch);
+            });
+        } catch (DataAccessException e) {
+            // The deltas are still pending and go out with the next flush
+            log.error("User stats flush failed, retrying {} deltas later: {}", batch.size(), e.getMessage());
+            return;
+        }
+        Map<Long, Integer> counterDeltas = deltas.get(counter);
+        for (Object[] args : batch) {
+            Long id = (Long) args[1];
+            int delta = (Integer) args[0];
+            // Invalidating first means a read in between may briefly count the delta twice, but never drops it.
+            // Caffeine's invalidate also waits for a load of the same key that may have read the old row.
+            cache.invalidate(id);
+            counterDeltas.computeIfPresent(id, (key, pending) -> pending == delta ? null : pending - delta);
+            // A profile built between the commit and this flush may not have counted the delta
+            versionCache.userChanged(id);
+        }
+    }
+}
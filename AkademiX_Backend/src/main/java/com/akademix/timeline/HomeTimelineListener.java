@@ -0,0 +1,33 @@
+package com.akademix.timeline;
+
+import com.akademix.event.FollowChangedEvent;
+import com.akademix.event.PublicationSavedEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class HomeTimelineListener implements OutboxHandler {
+
+    private final HomeTimelineService homeTimelineService;
+
+    @Override
+    public void handle(OutboxEvent<?> event) {
+        if (event.getPayload() instanceof PublicationSavedEvent saved && saved.isCreated()) {
+            homeTimelineService.fanOut(saved.getAuthorId(),
+                    TimelinePosition.of(saved.getPublicationId(), saved.getCreatedAt()));
+        } else if (event.getPayload() instanceof FollowChangedEvent follow) {
+            // The writing instance already did this right after the commit; the others learn of it here
+            onFollowChanged(follow);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        // Rebuilt from the database on the next read with the new set of followees
+        homeTimelineService.invalidate(event.getFollowerId());
+    }
+}
@@ -0,0 +1,202 @@
+package com.akademix.timeline;
+
+import com.akademix.config.TimelineConfig;
+import com.akademix.datasource.ReplicaLagMonitor;
+import com.akademix.datasource.ReplicaRoutingDataSource;
+import com.akademix.dto.CursorPageDTO;
+import com.akademix.dto.PublicationDTO;
+import com.akademix.graph.FollowGraphIndex;
+import com.akademix.repository.PublicationRepository;
+import com.akademix.repository.projection.PublicationSummary;
+import com.akademix.repository.projection.TimelineEntry;
+import com.akademix.service.PublicationService;
+import com.akademix.util.KeysetCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home timeline of publications from the people a user follows.
+ * <p>
+ * New publications are pushed into the in-memory timelines of the author's
+ * followers (fan-out on write). Authors with more than
+ * {@code app.timeline.fan-out-limit} followers are skipped on write and their
+ * publications are merged in when a timeline is read (fan-out on read). Each
+ * timeline remembers which authors it was built from, so an author crossing
+ * the limit in either direction is merged in on read until the next rebuild.
+ * <p>
+ * The cache is bounded by the total number of positions held, so memory use
+ * does not depend on how full individual timelines are.
+ */
+@Service
+public class HomeTimelineService {
+
+    private static final int AUTHOR_CHUNK_SIZE = 1000;
+
+    private final PublicationRepository publicationRepository;
+    private final FollowGraphIndex followGraph;
+    private final PublicationService publicationService;
+    private final TimelineConfig timelineConfig;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final Cache<Long, Timeline> timelines;
+    // Last skipped fan-out per author over the limit; only such authors ever get an entry
+    private final Map<Long, Long> skippedFanOuts = new ConcurrentHashMap<>();
+    private final AtomicLong fanOutSequence = new AtomicLong();
+
+    public HomeTimelineService(PublicationRepository publicationRepository,
+                               FollowGraphIndex followGraph,
+                               PublicationService publicationService,
+                               TimelineConfig timelineConfig,
+                               ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.publicationRepository = publicationRepository;
+        this.followGraph = followGraph;
+        this.publicationService = publicationService;
+        this.timelineConfig = timelineConfig;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.timelines = Caffeine.newBuilder()
+                .maximumWeight(timelineConfig.getMaxPositions())
+                .weigher((Long userId, Timeline timeline) -> timeline.weight())
+                .build();
+    }
+
+    public CursorPageDTO<PublicationDTO> getHomeTimeline(Long userId, String cursor, int size) {
+        TimelinePosition position = null;
+        if (cursor != null) {
+            KeysetCursor decoded = KeysetCursor.decode(cursor);
+            position = TimelinePosition.of(decoded.getId(), decoded.getCreatedAt());
+        }
+        int wanted = size + 1;
+
+        Timeline timeline = timelines.get(userId, this::buildTimeline);
+        List<Long> pulledAuthors = new ArrayList<>();
+        for (long authorId : authorsOf(userId)) {
+            if (!timeline.isPushed(authorId) || skippedSince(authorId, timeline.builtAt())) {
+                pulledAuthors.add(authorId);
+            }
+        }
+
+        // An author can be both in the timeline and pulled, so the same publication may come from both
+        TreeSet<TimelinePosition> candidates = new TreeSet<>(timeline.before(position, wanted));
+        if (candidates.size() < wanted && timeline.isTruncated()) {
+            // Paging past what the in-memory timeline still holds
+            TimelinePosition oldest = timeline.oldest();
+            TimelinePosition from = position == null || oldest.compareTo(position) > 0 ? oldest : position;
+            candidates.addAll(loadPositions(timeline.pushedAuthors(), from, wanted - candidates.size()));
+        }
+        if (!pulledAuthors.isEmpty()) {
+            candidates.addAll(loadPositions(pulledAuthors, position, wanted));
+        }
+
+        boolean hasNext = candidates.size() > size;
+        List<Long> pageIds = candidates.stream()
+                .limit(size)
+                .map(TimelinePosition::getPublicationId)
+                .collect(Collectors.toList());
+        Map<Long, PublicationSummary> summaries = pageIds.isEmpty()
+                ? Collections.emptyMap()
+                : publicationRepository.findSummariesByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(PublicationSummary::getId, Function.identity()));
+
+        List<PublicationDTO> content = new ArrayList<>();
+        for (Long id : pageIds) {
+            PublicationSummary summary = summaries.get(id);
+            // Deleted publications are dropped lazily here instead of being purged from every timeline
+            if (summary != null) {
+                content.add(publicationService.convertToDTO(summary));
+            }
+        }
+        return CursorPageDTO.of(new SliceImpl<>(content, PageRequest.of(0, size), hasNext),
+                publication -> new KeysetCursor(publication.getCreatedAt(), publication.getId()));
+    }
+
+    public void fanOut(Long authorId, TimelinePosition position) {
+        if (isFanOutOnRead(authorId)) {
+            // Timelines built while the author was under the limit are now missing this publication
+            skippedFanOuts.put(authorId, fanOutSequence.incrementAndGet());
+            return;
+        }
+        push(authorId, position);
+        for (long followerId : followGraph.followers(authorId)) {
+            push(followerId, position);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        timelines.invalidate(userId);
+    }
+
+    private void push(long userId, TimelinePosition position) {
+        // Unlike computeIfPresent, compute waits for a timeline still being built, whose query may have run
+        // before this publication committed. Returning the timeline also re-weighs the entry.
+        timelines.asMap().compute(userId, (id, timeline) -> {
+            if (timeline != null) {
+                timeline.add(position);
+            }
+            return timeline;
+        });
+    }
+
+    private boolean isFanOutOnRead(long authorId) {
+        return followGraph.followerCount(authorId) > timelineConfig.getFanOutLimit();
+    }
+
+    private boolean skippedSince(long authorId, long sequence) {
+        Long skippedAt = skippedFanOuts.get(authorId);
+        return skippedAt != null && skippedAt > sequence;
+    }
+
+    private List<Long> authorsOf(Long userId) {
+        long[] following = followGraph.following(userId);
+        List<Long> authorIds = new ArrayList<>(following.length + 1);
+        authorIds.add(userId);
+        for (long followee : following) {
+            authorIds.add(followee);
+        }
+        return authorIds;
+    }
+
+    private Timeline buildTimeline(Long userId) {
+        // Taken before the query, so a publication skipped meanwhile is pulled rather than missed
+        long builtAt = fanOutSequence.get();
+        List<Long> authorIds = authorsOf(userId).stream()
+                .filter(authorId -> !isFanOutOnRead(authorId))
+                .collect(Collectors.toList());
+        if (!ReplicaRoutingDataSource.isReadWriteTransaction()) {
+            // Publications fanned out while a lagging replica was read would be missing for good
+            replicaLagMonitor.ifAvailable(monitor -> monitor.afterLagWindow(() -> timelines.invalidate(userId)));
+        }
+        int capacity = timelineConfig.getCapacity();
+        List<TimelinePosition> positions = loadPositions(authorIds, null, capacity);
+        return new Timeline(capacity, positions, positions.size() == capacity,
+                authorIds.stream().mapToLong(Long::longValue).toArray(), builtAt);
+    }
+
+    private List<TimelinePosition> loadPositions(List<Long> authorIds, TimelinePosition before, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<TimelinePosition> positions = new ArrayList<>();
+        for (int from = 0; from < authorIds.size(); from += AUTHOR_CHUNK_SIZE) {
+            List<Long> chunk = authorIds.subList(from, Math.min(from + AUTHOR_CHUNK_SIZE, authorIds.size()));
+            List<TimelineEntry> entries = before == null
+                    ? publicationRepository.findTimelineEntries(chunk, pageable)
+                    : publicationRepository.findTimelineEntriesBefore(
+                            chunk, before.getCreatedAt(), before.getPublicationId(), pageable);
+            entries.forEach(entry -> positions.add(TimelinePosition.of(entry.getId(), entry.getCreatedAt())));
+        }
+        Collections.sort(positions);
+        return positions.size() > limit ? new ArrayList<>(positions.subList(0, limit)) : positions;
+    }
+}
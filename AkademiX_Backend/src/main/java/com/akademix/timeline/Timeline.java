@@ -0,0 +1,114 @@
+package com.akademix.timeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded list of publication positions, newest first, for one user.
+ * Once entries have been dropped for capacity the timeline is marked
+ * truncated and older pages have to come from the database.
+ * <p>
+ * It also records which authors were fanned out on write when it was built;
+ * publications of any other followee are not in it and have to be merged in
+ * on read.
+ */
+final class Timeline {
+
+    private final int capacity;
+    private final long[] pushedAuthors;
+    private final long builtAt;
+    private long[] times;
+    private long[] ids;
+    private int size;
+    private boolean truncated;
+
+    Timeline(int capacity, List<TimelinePosition> newestFirst, boolean truncated,
+             long[] pushedAuthors, long builtAt) {
+        this.capacity = capacity;
+        this.pushedAuthors = pushedAuthors.clone();
+        Arrays.sort(this.pushedAuthors);
+        this.builtAt = builtAt;
+        this.times = new long[Math.max(newestFirst.size(), 16)];
+        this.ids = new long[times.length];
+        for (TimelinePosition position : newestFirst) {
+            times[size] = position.getCreatedAtMicros();
+            ids[size] = position.getPublicationId();
+            size++;
+        }
+        this.truncated = truncated;
+    }
+
+    synchronized void add(TimelinePosition position) {
+        long time = position.getCreatedAtMicros();
+        long id = position.getPublicationId();
+        int index = 0;
+        while (index < size && (times[index] > time || (times[index] == time && ids[index] > id))) {
+            index++;
+        }
+        if (index < size && times[index] == time && ids[index] == id) {
+            return;
+        }
+        if (index == capacity) {
+            truncated = true;
+            return;
+        }
+        if (size == times.length) {
+            int grown = Math.min(capacity, times.length * 2);
+            times = Arrays.copyOf(times, grown);
+            ids = Arrays.copyOf(ids, grown);
+        }
+        int shift = Math.min(size, capacity - 1) - index;
+        System.arraycopy(times, index, times, index + 1, shift);
+        System.arraycopy(ids, index, ids, index + 1, shift);
+        times[index] = time;
+        ids[index] = id;
+        if (size == capacity) {
+            truncated = true;
+        } else {
+            size++;
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries strictly older than the given position.
+     */
+    synchronized List<TimelinePosition> before(TimelinePosition position, int limit) {
+        List<TimelinePosition> result = new ArrayList<>(limit);
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            TimelinePosition entry = new TimelinePosition(ids[i], times[i]);
+            if (position == null || entry.compareTo(position) > 0) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    synchronized TimelinePosition oldest() {
+        return size == 0 ? null : new TimelinePosition(ids[size - 1], times[size - 1]);
+    }
+
+    boolean isPushed(long authorId) {
+        return Arrays.binarySearch(pushedAuthors, authorId) >= 0;
+    }
+
+    List<Long> pushedAuthors() {
+        return Arrays.stream(pushedAuthors).boxed().toList();
+    }
+
+    long builtAt() {
+        return builtAt;
+    }
+
+    synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Number of allocated slots, the unit the timeline cache is bounded in.
+     * An author id takes half the memory of a position, so two count as one slot.
+     */
+    synchronized int weight() {
+        return times.length + (pushedAuthors.length + 1) / 2;
+    }
+}
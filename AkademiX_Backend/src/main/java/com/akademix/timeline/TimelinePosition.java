@@ -0,0 +1,33 @@
+package com.akademix.timeline;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A (createdAt, id) position. Ordering is newest first, so a larger
+ * position sorts after a smaller one in the feed.
+ */
+@Value
+public class TimelinePosition implements Comparable<TimelinePosition> {
+    long publicationId;
+    long createdAtMicros;
+
+    public static TimelinePosition of(Long publicationId, LocalDateTime createdAt) {
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), createdAt);
+        return new TimelinePosition(publicationId, micros);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(createdAtMicros, 1_000_000L),
+                (int) Math.floorMod(createdAtMicros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    @Override
+    public int compareTo(TimelinePosition other) {
+        int byTime = Long.compare(other.createdAtMicros, createdAtMicros);
+        return byTime != 0 ? byTime : Long.compare(other.publicationId, publicationId);
+    }
+}
@@ -0,0 +1,216 @@
+package com.akademix.trending;
+
+import com.akademix.config.TrendingConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Time-decayed engagement scores kept in memory and ranked incrementally.
+ * <p>
+ * Every like or comment adds {@code weight * 2^((t - epoch) / halfLife)}, so
+ * older contributions shrink relative to newer ones without ever touching
+ * the stored scores. The ordering therefore only changes on writes, and the
+ * top K can be read straight off the ranked set. When the growth factor gets
+ * large the scores are rescaled to a new epoch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingEngine {
+
+    private static final double REBASE_HALF_LIVES = 64;
+    private static final double MIN_SCORE = 1e-6;
+    private static final int CHECKPOINT_BATCH_SIZE = 500;
+
+    private static final String LOAD_SQL =
+            "SELECT t.publication_id, t.score, t.scored_at FROM trending_scores t "
+                    + "JOIN publications p ON p.id = t.publication_id";
+    private static final String BOOTSTRAP_SQL =
+            "SELECT id, created_at, likes_count, comments_count FROM publications "
+                    + "WHERE created_at > ? AND (likes_count > 0 OR comments_count > 0)";
+    private static final String CHECKPOINT_INSERT_SQL =
+            "INSERT INTO trending_scores (publication_id, score, scored_at) VALUES (?, ?, ?)";
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry entry) -> entry.score).reversed()
+            .thenComparing(Comparator.comparingLong((Entry entry) -> entry.publicationId).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingConfig trendingConfig;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(RANKING);
+    private LocalDateTime epoch = LocalDateTime.now();
+    private boolean dirty;
+
+    public void recordLikes(long publicationId, int delta) {
+        record(publicationId, delta * trendingConfig.getLikeWeight(), LocalDateTime.now());
+    }
+
+    public void recordComments(long publicationId, int delta) {
+        record(publicationId, delta * trendingConfig.getCommentWeight(), LocalDateTime.now());
+    }
+
+    public synchronized void remove(long publicationId) {
+        Entry entry = entries.remove(publicationId);
+        if (entry != null) {
+            ranked.remove(entry);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Ids of the highest scoring publications, best first.
+     */
+    public synchronized List<Long> top(int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        Iterator<Entry> iterator = ranked.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next().publicationId);
+        }
+        return result;
+    }
+
+    /**
+     * Restores scores from the last checkpoint. Without one, scores are
+     * seeded from the counters of recent publications as if all of their
+     * engagement had happened when they were published.
+     */
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        int[] restored = {0};
+        jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+            record(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).toLocalDateTime());
+            restored[0]++;
+        });
+        if (restored[0] > 0) {
+            log.info("Trending scores restored for {} publications", restored[0]);
+            return;
+        }
+
+        Timestamp since = Timestamp.valueOf(now.minus(trendingConfig.getBootstrapWindow()));
+        int[] seeded = {0};
+        jdbcTemplate.query(BOOTSTRAP_SQL, (RowCallbackHandler) rs -> {
+            double points = rs.getInt(3) * trendingConfig.getLikeWeight()
+                    + rs.getInt(4) * trendingConfig.getCommentWeight();
+            record(rs.getLong(1), points, rs.getTimestamp(2).toLocalDateTime());
+            seeded[0]++;
+        }, since);
+        log.info("Trending scores seeded for {} publications", seeded[0]);
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.checkpoint-interval:60000}")
+    public void checkpoint() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            double decay = Math.pow(2, -halfLivesBetween(epoch, now));
+            Timestamp scoredAt = Timestamp.valueOf(now);
+            rows = new ArrayList<>(ranked.size());
+            for (Entry entry : ranked) {
+                rows.add(new Object[]{entry.publicationId, entry.score * decay, scoredAt});
+            }
+            dirty = false;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM trending_scores");
+                jdbcTemplate.batchUpdate(CHECKPOINT_INSERT_SQL, rows, CHECKPOINT_BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setDouble(2, (Double) row[1]);
+                    ps.setTimestamp(3, (Timestamp) row[2]);
+                });
+            });
+        } catch (DataAccessException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("Trending checkpoint of {} scores failed, retrying on next run", rows.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private synchronized void record(long publicationId, double points, LocalDateTime at) {
+        if (points == 0) {
+            return;
+        }
+        if (halfLivesBetween(epoch, at) > REBASE_HALF_LIVES) {
+            rebase(at);
+        }
+        Entry previous = entries.get(publicationId);
+        double score = (previous == null ? 0 : previous.score) + points * Math.pow(2, halfLivesBetween(epoch, at));
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        dirty = true;
+        if (score * Math.pow(2, -halfLivesBetween(epoch, at)) < MIN_SCORE) {
+            entries.remove(publicationId);
+            return;
+        }
+
+        Entry entry = new Entry(publicationId, score);
+        entries.put(publicationId, entry);
+        ranked.add(entry);
+        if (ranked.size() > trendingConfig.getCapacity()) {
+            entries.remove(ranked.pollLast().publicationId);
+        }
+    }
+
+    private void rebase(LocalDateTime newEpoch) {
+        double factor = Math.pow(2, -halfLivesBetween(epoch, newEpoch));
+        List<Entry> rescaled = new ArrayList<>(ranked.size());
+        for (Entry entry : ranked) {
+            rescaled.add(new Entry(entry.publicationId, entry.score * factor));
+        }
+        ranked.clear();
+        entries.clear();
+        for (Entry entry : rescaled) {
+            if (entry.score >= MIN_SCORE) {
+                ranked.add(entry);
+                entries.put(entry.publicationId, entry);
+            }
+        }
+        epoch = newEpoch;
+    }
+
+    private double halfLivesBetween(LocalDateTime from, LocalDateTime to) {
+        return (double) Duration.between(from, to).toMillis() / trendingConfig.getHalfLife().toMillis();
+    }
+
+    private static final class Entry {
+        private final long publicationId;
+        private final double score;
+
+        private Entry(long publicationId, double score) {
+            this.publicationId = publicationId;
+            this.score = score;
+        }
+    }
+}
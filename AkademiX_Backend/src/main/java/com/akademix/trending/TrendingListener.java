@@ -0,0 +1,35 @@
+package com.akademix.trending;
+
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TrendingListener implements OutboxHandler {
+
+    private final TrendingEngine trendingEngine;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        trendingEngine.load();
+    }
+
+    @Override
+    public void handle(OutboxEvent<?> event) {
+        if (event.getPayload() instanceof PublicationEngagementEvent engagement) {
+            if (engagement.getType() == PublicationEngagementEvent.Type.LIKE) {
+                trendingEngine.recordLikes(engagement.getPublicationId(), engagement.getDelta());
+            } else {
+                trendingEngine.recordComments(engagement.getPublicationId(), engagement.getDelta());
+            }
+        } else if (event.getPayload() instanceof PublicationDeletedEvent deleted) {
+            trendingEngine.remove(deleted.getPublicationId());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.akademix.util;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+import java.io.Serializable;
+
+/**
+ * Weighs Hibernate second-level cache entries by the text they hold, so a
+ * region of large rows is bounded in bytes rather than in entries. Referenced
+ * by name from hibernate-cache.conf.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        if (value instanceof AbstractReadWriteAccess.Lockable lockable) {
+            value = lockable.getValue();
+        }
+        long weight = ENTRY_OVERHEAD;
+        if (value instanceof CacheEntry entry) {
+            for (Serializable field : entry.getDisassembledState()) {
+                if (field instanceof String text) {
+                    weight += 2L * text.length();
+                }
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
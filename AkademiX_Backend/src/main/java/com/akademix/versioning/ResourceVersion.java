@@ -0,0 +1,30 @@
+package com.akademix.versioning;
+
+import lombok.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Validators of one representation: a strong ETag and a Last-Modified time in epoch milliseconds.
+ */
+@Value
+public class ResourceVersion {
+
+    /**
+     * Lets clients keep a copy but makes them revalidate it on every use, so
+     * Last-Modified never enables heuristic caching of stale data.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    String etag;
+    long lastModified;
+
+    /**
+     * Sets the validators on the response and reports whether the client's copy
+     * is still current, in which case the response is already a 304. A version
+     * without an ETag is too recent to validate and always gets a full response.
+     */
+    public boolean isNotModified(WebRequest request) {
+        return etag != null && request.checkNotModified(etag, lastModified);
+    }
+}
@@ -0,0 +1,141 @@
+package com.akademix.versioning;
+
+import com.akademix.config.ConditionalGetConfig;
+import com.akademix.config.ReplicaConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory change versions of publications, user profiles and the publication
+ * feeds, used to answer conditional GETs without touching the database.
+ * <p>
+ * Versions are bumped by {@link ResourceVersionListener} from the domain events,
+ * so every write that changes one of these representations must publish one.
+ * A resource that has not changed since startup reports the startup version;
+ * ETags embed a per-process id so a restart invalidates them all. When an entry
+ * is evicted, the version reported for unknown resources is raised past it, which
+ * may cause extra full responses but never a stale 304.
+ * <p>
+ * With read replicas enabled, a change younger than {@code app.replicas.max-lag}
+ * may not be in the body yet, so no ETag is handed out for it; otherwise a
+ * body read from a lagging replica could be revalidated as current.
+ */
+@Component
+public class ResourceVersionCache {
+
+    private final String processId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReference<Stamp> floor = new AtomicReference<>(new Stamp(0, System.currentTimeMillis()));
+    private final AtomicReference<Stamp> feed = new AtomicReference<>(floor.get());
+    private final Cache<Long, Stamp> publications;
+    private final Cache<Long, Stamp> users;
+    private final Cache<Long, Stamp> authorFeeds;
+    private final long settleMillis;
+
+    public ResourceVersionCache(ConditionalGetConfig conditionalGetConfig, ReplicaConfig replicaConfig) {
+        this.publications = newCache(conditionalGetConfig.getMaxEntries());
+        this.users = newCache(conditionalGetConfig.getMaxEntries());
+        this.authorFeeds = newCache(conditionalGetConfig.getMaxEntries());
+        this.settleMillis = replicaConfig.isEnabled() ? replicaConfig.getMaxLag().toMillis() : 0;
+    }
+
+    public ResourceVersion publication(Long id) {
+        Stamp stamp = stamp(publications, id);
+        return version("p" + stamp.version, stamp.modified);
+    }
+
+    public ResourceVersion user(Long id) {
+        Stamp stamp = stamp(users, id);
+        return version("u" + stamp.version, stamp.modified);
+    }
+
+    /**
+     * Version of every feed built from publication summaries, shared by all viewers.
+     */
+    public ResourceVersion feed() {
+        Stamp stamp = feed.get();
+        return version("f" + stamp.version, stamp.modified);
+    }
+
+    /**
+     * Version of one author's publication feed, which only changes with that author's publications.
+     */
+    public ResourceVersion authorFeed(Long authorId) {
+        Stamp stamp = stamp(authorFeeds, authorId);
+        return version("a" + stamp.version, stamp.modified);
+    }
+
+    /**
+     * Version of a viewer's home timeline, which also depends on whom the viewer follows.
+     */
+    public ResourceVersion homeTimeline(Long userId) {
+        Stamp feedStamp = feed.get();
+        Stamp userStamp = stamp(users, userId);
+        return version("h" + userId + "." + feedStamp.version + "." + userStamp.version,
+                Math.max(feedStamp.modified, userStamp.modified));
+    }
+
+    public void publicationChanged(Long id) {
+        publications.put(id, next());
+    }
+
+    public void userChanged(Long id) {
+        users.put(id, next());
+    }
+
+    public void feedChanged() {
+        feed.set(next());
+    }
+
+    public void authorFeedChanged(Long authorId) {
+        if (authorId != null) {
+            authorFeeds.put(authorId, next());
+        }
+    }
+
+    private Stamp stamp(Cache<Long, Stamp> cache, Long id) {
+        Stamp stamp = cache.getIfPresent(id);
+        return stamp != null ? stamp : floor.get();
+    }
+
+    private Stamp next() {
+        return new Stamp(clock.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    private ResourceVersion version(String version, long modified) {
+        if (settleMillis > 0 && System.currentTimeMillis() - modified < settleMillis) {
+            return new ResourceVersion(null, modified);
+        }
+        return new ResourceVersion(etag(version), modified);
+    }
+
+    private String etag(String version) {
+        return "\"" + processId + "-" + version + "\"";
+    }
+
+    private Cache<Long, Stamp> newCache(long maxEntries) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                // Runs inside the eviction, so no reader sees the entry gone before the floor moves
+                .<Long, Stamp>evictionListener((id, stamp, cause) -> {
+                    if (stamp != null) {
+                        floor.accumulateAndGet(stamp, (current, evicted) -> evicted.version > current.version ? evicted : current);
+                    }
+                })
+                .build();
+    }
+
+    private static final class Stamp {
+        private final long version;
+        private final long modified;
+
+        private Stamp(long version, long modified) {
+            this.version = version;
+            this.modified = modified;
+        }
+    }
+}
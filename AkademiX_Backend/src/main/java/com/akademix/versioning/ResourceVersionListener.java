@@ -0,0 +1,74 @@
+package com.akademix.versioning;
+
+import com.akademix.event.FollowChangedEvent;
+import com.akademix.event.PublicationDeletedEvent;
+import com.akademix.event.PublicationEngagementEvent;
+import com.akademix.event.PublicationSavedEvent;
+import com.akademix.outbox.OutboxEvent;
+import com.akademix.outbox.OutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bumps versions right after the commit on the instance that made the change,
+ * and again on every instance once the outbox handlers have applied it, which
+ * is when trending and home timelines change.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceVersionListener implements OutboxHandler {
+
+    private final ResourceVersionCache versionCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublicationSaved(PublicationSavedEvent event) {
+        versionCache.publicationChanged(event.getPublicationId());
+        versionCache.feedChanged();
+        versionCache.authorFeedChanged(event.getAuthorId());
+        if (event.isCreated()) {
+            versionCache.userChanged(event.getAuthorId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublicationDeleted(PublicationDeletedEvent event) {
+        versionCache.publicationChanged(event.getPublicationId());
+        versionCache.feedChanged();
+        versionCache.authorFeedChanged(event.getAuthorId());
+        versionCache.userChanged(event.getAuthorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PublicationEngagementEvent event) {
+        versionCache.publicationChanged(event.getPublicationId());
+        versionCache.feedChanged();
+        versionCache.authorFeedChanged(event.getAuthorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        versionCache.userChanged(event.getFollowerId());
+        versionCache.userChanged(event.getTargetUserId());
+    }
+
+    @Override
+    public void handle(OutboxEvent<?> event) {
+        Object payload = event.getPayload();
+        if (payload instanceof PublicationSavedEvent saved) {
+            onPublicationSaved(saved);
+        } else if (payload instanceof PublicationDeletedEvent deleted) {
+            onPublicationDeleted(deleted);
+        } else if (payload instanceof PublicationEngagementEvent engagement) {
+            onEngagement(engagement);
+        } else if (payload instanceof FollowChangedEvent follow) {
+            onFollowChanged(follow);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,97 @@
+package com.akademix.controller;
+
+import com.akademix.model.User;
+import com.akademix.service.CommentService;
+import com.akademix.service.PublicationService;
+import com.akademix.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The offset comment page lists top-level comments only and reads them through
+ * a projection, so a page costs one select and one count however many
+ * comments and authors it holds.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class CommentPageQueryCountTest {
+
+    private static final int COMMENTS = 15;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Long publicationId;
+
+    @BeforeEach
+    void createComments() {
+        Long authorId = createUser();
+        publicationId = publicationService.createPublication("Discussed publication", "Content", authorId).getId();
+        for (int i = 0; i < COMMENTS; i++) {
+            Long commenterId = createUser();
+            Long commentId = commentService.createComment("Comment " + i, publicationId, commenterId).getId();
+            commentService.createReply("Reply to comment " + i, commentId, authorId);
+        }
+    }
+
+    @Test
+    void commentPageHoldsTopLevelCommentsAndUsesOneSelectAndOneCount() throws Exception {
+        String url = "/api/comments/publication/" + publicationId + "?size=" + PAGE_SIZE;
+        double before = statements().totalAmount();
+        long calls = statements().count();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(COMMENTS))
+                .andExpect(jsonPath("$.content.length()").value(PAGE_SIZE))
+                .andExpect(jsonPath("$.content[*].depth", everyItem(is(0))));
+
+        assertThat(statements().count()).isEqualTo(calls + 1);
+        assertThat(Math.round(statements().totalAmount() - before)).isEqualTo(2);
+    }
+
+    private Long createUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@akademix.test");
+        user.setName("Commenter");
+        return userService.createUser(user, "password").getId();
+    }
+
+    private DistributionSummary statements() {
+        return DistributionSummary.builder("akademix.endpoint.statements")
+                .tags("controller", CommentController.class.getSimpleName(), "method", "getPublicationComments")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.akademix.controller;
+
+import com.akademix.model.User;
+import com.akademix.service.PublicationService;
+import com.akademix.service.UserService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Feed pages are read through projections, so a page costs the same number of
+ * statements however many publications it holds. Statements are counted on the
+ * request thread by the endpoint metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class PublicationFeedQueryCountTest {
+
+    private static final int PUBLICATIONS = 15;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    private Long authorId;
+
+    @BeforeEach
+    void createPublications() {
+        User author = new User();
+        author.setEmail(UUID.randomUUID() + "@akademix.test");
+        author.setName("Feed Author");
+        authorId = userService.createUser(author, "password").getId();
+        for (int i = 0; i < PUBLICATIONS; i++) {
+            publicationService.createPublication("Publication " + i, "Content of publication " + i, authorId);
+        }
+    }
+
+    @Test
+    void feedPageUsesOneSelectAndOneCount() throws Exception {
+        assertThat(statementsOf("getAllPublications", "/api/publications?size=" + PAGE_SIZE)).isEqualTo(2);
+    }
+
+    @Test
+    void authorFeedPageUsesOneSelectAndOneCount() throws Exception {
+        assertThat(statementsOf("getUserPublications",
+                "/api/publications/user/" + authorId + "?size=" + PAGE_SIZE)).isEqualTo(2);
+    }
+
+    @Test
+    void cursorFeedPagesUseOneStatementEach() throws Exception {
+        String firstPage = "/api/publications/cursor?size=" + PAGE_SIZE;
+        assertThat(statementsOf("getPublicationFeed", firstPage)).isEqualTo(1);
+        assertThat(statementsOf("getPublicationFeed", firstPage + "&cursor=" + nextCursor(firstPage))).isEqualTo(1);
+    }
+
+    @Test
+    void authorCursorFeedPagesUseOneStatementEach() throws Exception {
+        String firstPage = "/api/publications/user/" + authorId + "/cursor?size=" + PAGE_SIZE;
+        assertThat(statementsOf("getUserPublicationFeed", firstPage)).isEqualTo(1);
+        assertThat(statementsOf("getUserPublicationFeed", firstPage + "&cursor=" + nextCursor(firstPage)))
+                .isEqualTo(1);
+    }
+
+    private long statementsOf(String method, String url) throws Exception {
+        double before = statements(method).totalAmount();
+        long calls = statements(method).count();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isNotEmpty());
+        assertThat(statements(method).count()).isEqualTo(calls + 1);
+        return Math.round(statements(method).totalAmount() - before);
+    }
+
+    private String nextCursor(String url) throws Exception {
+        String body = mockMvc.perform(get(url)).andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.nextCursor");
+    }
+
+    private DistributionSummary statements(String method) {
+        return DistributionSummary.builder("akademix.endpoint.statements")
+                .tags("controller", PublicationController.class.getSimpleName(), "method", method)
+                .register(meterRegistry);
+    }
+}
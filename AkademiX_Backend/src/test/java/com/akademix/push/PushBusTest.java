@@ -0,0 +1,130 @@
+package com.akademix.push;
+
+import com.akademix.config.PushConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Clients that stop reading block a write on a dispatcher thread. They must be
+ * dropped without holding up delivery to everyone else.
+ */
+class PushBusTest {
+
+    private static final String TOPIC = PushBus.publicationTopic(1L);
+    private static final int MESSAGES = 100;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private final Queue<SseEmitter> emitters = new ArrayDeque<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PushBus pushBus;
+
+    @AfterEach
+    void release() {
+        unblock.countDown();
+        pushBus.destroy();
+    }
+
+    @Test
+    void blockedWritesDoNotHoldUpOtherClients() throws Exception {
+        PushConfig pushConfig = new PushConfig();
+        pushConfig.setDispatcherThreads(2);
+        pushConfig.setSendTimeout(Duration.ofMillis(200));
+        pushConfig.setHeartbeatInterval(Duration.ofHours(1));
+        pushBus = new PushBus(pushConfig, new ObjectMapper()) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.remove();
+            }
+        };
+        pushBus.bindTo(meterRegistry);
+
+        BlockedEmitter first = new BlockedEmitter();
+        BlockedEmitter second = new BlockedEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        emitters.addAll(List.of(first, second, healthy));
+        // The ready messages of the first two occupy both dispatcher threads
+        pushBus.subscribe(List.of(TOPIC));
+        pushBus.subscribe(List.of(TOPIC));
+        pushBus.subscribe(List.of(TOPIC));
+
+        for (int i = 0; i < MESSAGES; i++) {
+            pushBus.publish(TOPIC, "like", Map.of("likes", i));
+            Thread.sleep(10);
+        }
+
+        await(() -> healthy.sent.get() == MESSAGES + 1);
+        assertThat(healthy.completed).isFalse();
+        assertThat(meterRegistry.get("akademix.push.slow.consumers").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("akademix.push.stalled.writes").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("akademix.push.connections").gauge().value()).isEqualTo(1);
+        assertThat(dispatcher().getCorePoolSize()).isEqualTo(4);
+
+        // Once the writes return, the streams are ended and the extra threads go away
+        unblock.countDown();
+        await(() -> first.completed && second.completed);
+        await(() -> dispatcher().getCorePoolSize() == 2);
+    }
+
+    private ScheduledThreadPoolExecutor dispatcher() {
+        return (ScheduledThreadPoolExecutor) ReflectionTestUtils.getField(pushBus, "dispatcher");
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private class BlockedEmitter extends SseEmitter {
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                unblock.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
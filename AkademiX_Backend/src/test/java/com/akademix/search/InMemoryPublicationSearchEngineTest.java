@@ -0,0 +1,178 @@
+package com.akademix.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class InMemoryPublicationSearchEngineTest {
+
+    private final InMemoryPublicationSearchEngine engine = new InMemoryPublicationSearchEngine();
+
+    @Test
+    void scoresSingleTermWithBm25() {
+        engine.index(1L, null, "graph graph theory");
+        engine.index(2L, null, "number theory");
+
+        // N = 2, n(graph) = 1, |d1| = 3, avgdl = 2.5
+        double idf = Math.log(1 + (2 - 1 + 0.5) / (1 + 0.5));
+        double normalized = 2 * 2.2 / (2 + 1.2 * (1 - 0.75 + 0.75 * 3 / 2.5));
+
+        SearchResults results = engine.search("graph", 0, 10);
+
+        assertThat(results.getTotal()).isEqualTo(1);
+        assertThat(results.getHits()).singleElement().satisfies(hit -> {
+            assertThat(hit.getPublicationId()).isEqualTo(1L);
+            assertThat(hit.getScore()).isCloseTo(idf * normalized, within(1e-9));
+        });
+    }
+
+    @Test
+    void ranksTitleMatchesAboveContentMatches() {
+        engine.index(1L, "Other", "ranking of graphs");
+        engine.index(2L, "Ranking", "of graphs");
+
+        assertThat(engine.search("ranking", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void ranksShorterDocumentsFirstForTheSameFrequency() {
+        engine.index(1L, null, "entropy");
+        engine.index(2L, null, "entropy of many long and unrelated words");
+
+        assertThat(engine.search("entropy", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void matchesTheLastTermAsPrefix() {
+        engine.index(1L, null, "quantum computing");
+        engine.index(2L, null, "quantum compression");
+        engine.index(3L, null, "classical computing");
+
+        // "compression" is rarer than "computing", so its prefix match weighs more
+        assertThat(engine.search("quantum comp", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(2L, 1L, 3L);
+        assertThat(engine.search("comp quantum", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void pagesHitsByScore() {
+        engine.index(1L, null, "lattice");
+        engine.index(2L, null, "lattice lattice");
+        engine.index(3L, null, "lattice lattice lattice");
+
+        SearchResults page = engine.search("lattice", 1, 1);
+
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(page.getHits()).extracting(SearchHit::getPublicationId).containsExactly(2L);
+        assertThat(engine.search("lattice", 3, 1).getHits()).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        engine.index(1L, null, "neural networks");
+        engine.index(1L, null, "genetic algorithms");
+
+        assertThat(engine.search("neural", 0, 10).getTotal()).isZero();
+        assertThat(engine.search("genetic", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void removedDocumentsAreNotFound() {
+        engine.index(1L, null, "topology");
+        engine.index(2L, null, "topology");
+        engine.remove(1L);
+        engine.remove(3L);
+
+        assertThat(engine.search("topology", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void staleGenerationsDoNotChangeScores() {
+        InMemoryPublicationSearchEngine fresh = new InMemoryPublicationSearchEngine();
+        for (long id = 1; id <= 20; id++) {
+            engine.index(id, "Draft " + id, "sparse matrix draft");
+        }
+        for (long id = 1; id <= 20; id++) {
+            String content = id % 2 == 0 ? "sparse matrix factorization" : "dense matrix";
+            engine.index(id, "Paper " + id, content);
+            fresh.index(id, "Paper " + id, content);
+        }
+        for (long id = 15; id <= 20; id++) {
+            engine.remove(id);
+            fresh.remove(id);
+        }
+
+        for (String query : new String[]{"sparse matrix", "dense", "paper", "draft"}) {
+            SearchResults actual = engine.search(query, 0, 50);
+            SearchResults expected = fresh.search(query, 0, 50);
+            assertThat(actual.getTotal()).as(query).isEqualTo(expected.getTotal());
+            assertThat(actual.getHits()).as(query).hasSameSizeAs(expected.getHits());
+            for (int i = 0; i < expected.getHits().size(); i++) {
+                assertThat(actual.getHits().get(i).getScore())
+                        .isCloseTo(expected.getHits().get(i).getScore(), within(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void compactsOnceStalePostingsOutnumberLiveOnes() {
+        engine.index(1L, null, "alpha beta");
+        engine.index(2L, null, "alpha gamma");
+        engine.remove(1L);
+
+        // 2 live and 2 stale postings: not compacted yet
+        assertThat(stalePostings()).isEqualTo(2);
+        assertThat(dictionary()).containsKeys("alpha", "beta", "gamma");
+
+        engine.index(2L, null, "delta");
+
+        assertThat(stalePostings()).isZero();
+        assertThat(dictionary()).containsOnlyKeys("delta");
+        assertThat(engine.search("alpha", 0, 10).getTotal()).isZero();
+        assertThat(engine.search("delta", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    void compactionKeepsCurrentGenerationsOnly() {
+        engine.index(1L, null, "shared first");
+        engine.index(2L, null, "shared second");
+        engine.index(3L, null, "shared third");
+        engine.index(1L, null, "shared revised");
+        engine.index(2L, null, "shared revised");
+
+        // 4 stale postings against 6 live ones so far; dropping the third document tips it to 6 against 4
+        engine.index(3L, null, "other");
+
+        assertThat(stalePostings()).isZero();
+        assertThat(dictionary()).containsOnlyKeys("shared", "revised", "other");
+        assertThat(engine.search("shared", 0, 10).getHits())
+                .extracting(SearchHit::getPublicationId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private long stalePostings() {
+        return (Long) ReflectionTestUtils.getField(engine, "stalePostings");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> dictionary() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(engine, "dictionary");
+    }
+}
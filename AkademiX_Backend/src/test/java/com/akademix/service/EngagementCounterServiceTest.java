@@ -0,0 +1,42 @@
+package com.akademix.service;
+
+import com.akademix.config.CounterConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngagementCounterServiceTest {
+
+    private final EngagementCounterService counterService =
+            new EngagementCounterService(null, null, new CounterConfig(), null, null, null, null);
+
+    @Test
+    void buffersDeltasPerId() {
+        counterService.adjustPublicationLikes(1L, 1);
+        counterService.adjustPublicationLikes(1L, 1);
+        counterService.adjustPublicationLikes(2L, -1);
+
+        assertThat(counterService.pendingPublicationLikes(1L)).isEqualTo(2);
+        assertThat(counterService.pendingPublicationLikes(2L)).isEqualTo(-1);
+    }
+
+    @Test
+    void dropsDeltasThatCancelOut() {
+        counterService.adjustPublicationLikes(1L, 1);
+        counterService.adjustPublicationLikes(1L, -1);
+        counterService.adjustCommentReplies(2L, 1);
+        counterService.adjustCommentReplies(2L, -1);
+        counterService.flush();
+
+        assertThat(pending("publicationLikes")).isEmpty();
+        assertThat(pending("commentReplies")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Integer> pending(String counter) {
+        return (Map<Long, Integer>) ReflectionTestUtils.getField(counterService, counter);
+    }
+}
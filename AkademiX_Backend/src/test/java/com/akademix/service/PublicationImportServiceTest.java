@@ -0,0 +1,70 @@
+package com.akademix.service;
+
+import com.akademix.dto.ImportErrorDTO;
+import com.akademix.dto.ImportResultDTO;
+import com.akademix.ingest.ImportFormat;
+import com.akademix.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A row the database rejects must fail on its own, not with the rest of its batch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PublicationImportServiceTest {
+
+    private static final String REJECTED_TITLE = "Rejected by a check constraint";
+    private static final int ROWS = 10;
+    private static final int REJECTED_ROW = 7;
+
+    @Autowired
+    private PublicationImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropConstraint() {
+        jdbcTemplate.execute("ALTER TABLE publications DROP CONSTRAINT IF EXISTS chk_import_test");
+    }
+
+    @Test
+    void rejectedRowDoesNotFailTheRestOfItsBatch() {
+        jdbcTemplate.execute("ALTER TABLE publications ADD CONSTRAINT chk_import_test CHECK (title <> '"
+                + REJECTED_TITLE + "')");
+        StringBuilder csv = new StringBuilder("title,content\n");
+        for (int row = 1; row <= ROWS; row++) {
+            String title = row == REJECTED_ROW ? REJECTED_TITLE : "Imported " + row;
+            csv.append(title).append(",Content of row ").append(row).append('\n');
+        }
+
+        ImportResultDTO result = importService.importPublications(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.CSV, createUser(), false);
+
+        assertThat(result.getImported()).isEqualTo(ROWS - 1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportErrorDTO::getRow).containsExactly((long) REJECTED_ROW);
+    }
+
+    private Long createUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@akademix.test");
+        user.setName("Importer");
+        return userService.createUser(user, "password").getId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.akademix.service;
+
+import com.akademix.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads liking and unliking one hot publication, several of them as the
+ * same user, must leave the stored counter equal to the rows in the join table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PublicationLikeConcurrencyTest {
+
+    private static final int USERS = 8;
+    private static final int THREADS_PER_USER = 2;
+    private static final int CLICKS_PER_THREAD = 100;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Autowired
+    private EngagementCounterService counterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void likesCountMatchesLikeRowsAfterConcurrentLikesAndUnlikes() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(createUser());
+        }
+        Long publicationId = publicationService.createPublication("Hot publication", "Liked by everyone",
+                userIds.get(0)).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(USERS * THREADS_PER_USER);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clicks = new ArrayList<>();
+        try {
+            for (Long userId : userIds) {
+                for (int t = 0; t < THREADS_PER_USER; t++) {
+                    clicks.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < CLICKS_PER_THREAD; i++) {
+                            if (ThreadLocalRandom.current().nextBoolean()) {
+                                publicationService.likePublication(publicationId, userId);
+                            } else {
+                                publicationService.unlikePublication(publicationId, userId);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> click : clicks) {
+                click.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        counterService.flush();
+
+        Integer likesCount = jdbcTemplate.queryForObject(
+                "SELECT likes_count FROM publications WHERE id = ?", Integer.class, publicationId);
+        Integer likeRows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM publication_likes WHERE publication_id = ?", Integer.class, publicationId);
+        assertThat(counterService.pendingPublicationLikes(publicationId)).isZero();
+        assertThat(likesCount).isEqualTo(likeRows);
+    }
+
+    private Long createUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@akademix.test");
+        user.setName("Hot Reader");
+        return userService.createUser(user, "password").getId();
+    }
+}
@@ -0,0 +1,31 @@
+package com.akademix.service;
+
+import com.akademix.config.CounterConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserStatsServiceTest {
+
+    private final UserStatsService userStatsService =
+            new UserStatsService(null, null, null, new CounterConfig(), null, null);
+
+    @Test
+    void dropsDeltasThatCancelOut() {
+        userStatsService.adjustFollowers(1L, 1);
+        userStatsService.adjustFollowing(2L, 1);
+        userStatsService.adjustFollowers(1L, -1);
+        userStatsService.adjustFollowing(2L, -1);
+        userStatsService.flush();
+
+        assertThat(pending()).allSatisfy((counter, deltas) -> assertThat(deltas).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<?, Map<Long, Integer>> pending() {
+        return (Map<?, Map<Long, Integer>>) ReflectionTestUtils.getField(userStatsService, "deltas");
+    }
+}
@@ -0,0 +1,92 @@
+package com.akademix.timeline;
+
+import com.akademix.dto.PublicationDTO;
+import com.akademix.model.User;
+import com.akademix.service.PublicationService;
+import com.akademix.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An author crossing the fan-out limit after a follower's timeline was built
+ * must neither repeat publications on a page nor lose the ones it published
+ * while it was over the limit.
+ */
+@SpringBootTest(properties = "app.timeline.fan-out-limit=1")
+@ActiveProfiles("test")
+class HomeTimelineServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Autowired
+    private HomeTimelineService homeTimelineService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PublicationService publicationService;
+
+    @Test
+    void authorCrossingTheFanOutLimitKeepsTimelinePagesComplete() throws Exception {
+        Long readerId = createUser();
+        Long otherFollowerId = createUser();
+        Long authorId = createUser();
+        userService.followUser(readerId, authorId);
+
+        Long first = publish(authorId);
+        await(() -> page(readerId).contains(first));
+
+        // Over the limit: the timeline still holds the first publication, which is now pulled as well
+        userService.followUser(otherFollowerId, authorId);
+        Long second = publish(authorId);
+        await(() -> skippedFanOuts().containsKey(authorId));
+        assertThat(page(readerId)).containsExactly(second, first);
+
+        // Back under the limit: the second publication was never pushed, so it still has to be pulled
+        userService.unfollowUser(otherFollowerId, authorId);
+        Long third = publish(authorId);
+        await(() -> page(readerId).contains(third));
+        assertThat(page(readerId)).containsExactly(third, second, first);
+    }
+
+    private List<Long> page(Long userId) {
+        return homeTimelineService.getHomeTimeline(userId, null, 10).getContent().stream()
+                .map(PublicationDTO::getId)
+                .toList();
+    }
+
+    private Long publish(Long authorId) {
+        return publicationService.createPublication("Timeline publication", "Content", authorId).getId();
+    }
+
+    private Long createUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@akademix.test");
+        user.setName("Timeline Reader");
+        return userService.createUser(user, "password").getId();
+    }
+
+    private Map<?, ?> skippedFanOuts() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(homeTimelineService, "skippedFanOuts");
+    }
+
+    // Fan-out runs on the outbox dispatcher
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out waiting for the fan-out").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}